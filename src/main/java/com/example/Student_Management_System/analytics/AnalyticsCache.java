@@ -0,0 +1,102 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.cache.BoundedTtlCache;
+import com.example.Student_Management_System.dto.CacheStatsDto;
+import com.example.Student_Management_System.event.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache of analytics results. Entries expire after a TTL, the least recently
+ * used are evicted beyond the size limit, and committed writes invalidate
+ * only the categories whose figures they can change.
+ */
+@Component
+public class AnalyticsCache {
+
+    public enum Category {
+        SUBJECTS, TEACHERS, TOP_STUDENTS, TOP_STUDENTS_BY_YEAR, STUDENT_RANK
+    }
+
+    public record Key(Category category, String argument) {
+    }
+
+    private static final Set<Category> STUDENT_RANKINGS = EnumSet.of(
+            Category.TOP_STUDENTS, Category.TOP_STUDENTS_BY_YEAR, Category.STUDENT_RANK);
+
+    private final boolean enabled;
+    private final BoundedTtlCache<Key, Object> cache;
+
+    public AnalyticsCache(@Value("${analytics.cache.enabled:true}") boolean enabled,
+            @Value("${analytics.cache.max-entries:256}") int maxEntries,
+            @Value("${analytics.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Category category, String argument, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (T) cache.get(new Key(category, argument), loader::get);
+    }
+
+    public CacheStatsDto getStats() {
+        long hits = cache.hits();
+        long misses = cache.misses();
+        CacheStatsDto dto = new CacheStatsDto();
+        dto.setHits(hits);
+        dto.setMisses(misses);
+        dto.setEvictions(cache.evictions());
+        dto.setSize(cache.size());
+        dto.setHitRate(hits + misses > 0 ? hits * 100.0 / (hits + misses) : 0.0);
+        return dto;
+    }
+
+    // Marks feed every figure: subject and teacher averages and all rankings
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    // Exam edits can move marks between subjects or rescale them
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onExamsChanged(ExamsChangedEvent event) {
+        invalidate(EnumSet.of(Category.SUBJECTS, Category.TEACHERS));
+    }
+
+    // New, renamed or deleted subjects change the subject list; reassignment
+    // is reported separately as a teacher change
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onSubjectsChanged(SubjectsChangedEvent event) {
+        invalidate(EnumSet.of(Category.SUBJECTS));
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onTeachersChanged(TeachersChangedEvent event) {
+        invalidate(EnumSet.of(Category.TEACHERS));
+    }
+
+    // Covers enrollment edits too; names, roll numbers and years appear only in
+    // rankings
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        invalidate(STUDENT_RANKINGS);
+    }
+
+    private void invalidate(Set<Category> categories) {
+        cache.invalidateIf(key -> categories.contains(key.category()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Student_Management_System.analytics;
+
+/**
+ * {@code @Order} values for after-commit analytics listeners. The in-memory
+ * views (leaderboard, columnar snapshot, score distributions) apply an event
+ * before anything that caches or snapshots results read from them, so a
+ * recomputation triggered by an eviction never sees the pre-commit view.
+ */
+public final class AnalyticsListenerOrder {
+
+    public static final int VIEW_UPDATE = 0;
+    public static final int CACHE_INVALIDATION = 100;
+
+    private AnalyticsListenerOrder() {
+    }
+}
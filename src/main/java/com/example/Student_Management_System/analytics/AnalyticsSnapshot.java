@@ -0,0 +1,21 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.dto.StudentPerformanceDto;
+import com.example.Student_Management_System.dto.SubjectPerformanceDto;
+import com.example.Student_Management_System.dto.TeacherPerformanceDto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One complete, immutable set of dashboard figures and when it was computed.
+ */
+public record AnalyticsSnapshot(List<SubjectPerformanceDto> subjects,
+        List<TeacherPerformanceDto> teachers,
+        List<StudentPerformanceDto> topStudents,
+        Instant computedAt) {
+
+    public List<StudentPerformanceDto> topStudents(int limit) {
+        return topStudents.subList(0, Math.min(Math.max(limit, 0), topStudents.size()));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.event.*;
+import com.example.Student_Management_System.service.impl.AnalyticsServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stale-while-revalidate holder for the admin dashboard. Readers always get the
+ * last completed snapshot without waiting; a single background refresh runs
+ * when data has changed (checked on a fixed schedule) or when a reader finds
+ * the snapshot older than the staleness limit.
+ */
+@Component
+public class AnalyticsSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSnapshotStore.class);
+
+    private final AnalyticsServiceImpl analyticsService;
+    private final Executor refreshExecutor;
+    private final boolean enabled;
+    private final Duration maxStaleness;
+    private final int topStudents;
+
+    private final AtomicReference<AnalyticsSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile boolean dirty = true;
+
+    public AnalyticsSnapshotStore(AnalyticsServiceImpl analyticsService,
+            @Qualifier("analyticsRefreshExecutor") Executor refreshExecutor,
+            @Value("${analytics.snapshot.enabled:false}") boolean enabled,
+            @Value("${analytics.snapshot.max-staleness-seconds:300}") long maxStalenessSeconds,
+            @Value("${analytics.snapshot.top-students:100}") int topStudents) {
+        this.analyticsService = analyticsService;
+        this.refreshExecutor = refreshExecutor;
+        this.enabled = enabled;
+        this.maxStaleness = Duration.ofSeconds(maxStalenessSeconds);
+        this.topStudents = topStudents;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Last completed snapshot; empty until the first refresh finishes
+    public Optional<AnalyticsSnapshot> current() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        AnalyticsSnapshot snapshot = current.get();
+        if (snapshot == null || isStale(snapshot)) {
+            refreshAsync();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    // The snapshot keeps the best `topStudents`; larger requests are served live
+    public boolean coversTopStudents(int limit) {
+        return limit <= topStudents;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.snapshot.check-interval-ms:30000}",
+            initialDelayString = "${analytics.snapshot.check-interval-ms:30000}")
+    public void refreshIfNeeded() {
+        if (!enabled) {
+            return;
+        }
+        AnalyticsSnapshot snapshot = current.get();
+        if (dirty || snapshot == null || isStale(snapshot)) {
+            refreshAsync();
+        }
+    }
+
+    // At most one refresh in flight; callers never wait for it
+    public void refreshAsync() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(this::refresh);
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            throw e;
+        }
+    }
+
+    private void refresh() {
+        try {
+            // Cleared before computing so writes committed meanwhile trigger another pass
+            dirty = false;
+            Instant computedAt = Instant.now();
+            current.set(new AnalyticsSnapshot(
+                    List.copyOf(analyticsService.getSubjectWiseAverages()),
+                    List.copyOf(analyticsService.getTeacherWisePerformance()),
+                    List.copyOf(analyticsService.getTopPerformingStudents(topStudents)),
+                    computedAt));
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot and retry on the next check
+            dirty = true;
+            log.warn("Analytics snapshot refresh failed", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private boolean isStale(AnalyticsSnapshot snapshot) {
+        return snapshot.computedAt().plus(maxStaleness).isBefore(Instant.now());
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onExamsChanged(ExamsChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onSubjectsChanged(SubjectsChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.CACHE_INVALIDATION)
+    public void onTeachersChanged(TeachersChangedEvent event) {
+        dirty = true;
+    }
+}
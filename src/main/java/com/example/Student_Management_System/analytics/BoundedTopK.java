@@ -0,0 +1,46 @@
+package com.example.Student_Management_System.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best elements seen so far using a min-heap of size k, so
+ * selecting a top-k from n candidates costs O(n log k) time and O(k) memory
+ * instead of sorting all n.
+ */
+public class BoundedTopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param order ranking order; the first element in this order is the best
+     */
+    public BoundedTopK(int k, Comparator<? super T> order) {
+        this.k = Math.max(k, 0);
+        this.order = order;
+        // Heap head is the worst of the retained elements
+        this.heap = new PriorityQueue<>(Math.max(this.k, 1), order.reversed());
+    }
+
+    public void offer(T candidate) {
+        if (k == 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(candidate);
+        } else if (order.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}
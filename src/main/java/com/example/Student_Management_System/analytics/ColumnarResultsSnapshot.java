@@ -0,0 +1,536 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.event.ExamsChangedEvent;
+import com.example.Student_Management_System.event.ResultsChangedEvent;
+import com.example.Student_Management_System.event.SubjectsChangedEvent;
+import com.example.Student_Management_System.event.TeachersChangedEvent;
+import com.example.Student_Management_System.repo.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional column-oriented copy of exam_results. Each graded result is one row
+ * across three primitive arrays (student index, exam index, marks); exam max
+ * marks and subject, and subject owner, live in small dictionary arrays. The
+ * subject and teacher analytics become a single pass over int arrays instead
+ * of a walk over ExamResult -> Exam -> Subject -> Teacher.
+ *
+ * With analytics.parallel.enabled the scan is split across the analytics
+ * pool; it is pure CPU work over arrays, so workers need no connection.
+ *
+ * Built at startup, before any request is served, and patched after each
+ * committed write. Exam indexes are
+ * stable for the life of the snapshot; subject and teacher dictionaries are
+ * reloaded whenever those tables change.
+ */
+@Component
+public class ColumnarResultsSnapshot {
+
+    private static final int INITIAL_ROWS = 1024;
+    // Below this many rows per worker the hand-off costs more than the scan
+    private static final int MIN_PARALLEL_ROWS = 50_000;
+
+    private final ExamResultRepository examResultRepository;
+    private final ExamRepository examRepository;
+    private final SubjectRepository subjectRepository;
+    private final TeacherRepository teacherRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final boolean parallelEnabled;
+    private final int parallelThreads;
+    private final Executor analyticsExecutor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Row columns
+    private int[] rowStudent = new int[0];
+    private int[] rowExam = new int[0];
+    private int[] rowMarks = new int[0];
+    private int rowCount;
+    private final LongIntHashMap rowIndex = new LongIntHashMap();
+
+    // Student dictionary (id -> index); only needed to key rows
+    private final Map<Long, Integer> studentIndex = new HashMap<>();
+
+    // Exam dictionary
+    private final Map<Long, Integer> examIndex = new HashMap<>();
+    private int[] examMaxMarks = new int[0];
+    private long[] examSubjectId = new long[0];
+    private int[] examSubject = new int[0]; // position in the subject dictionary, -1 if gone
+    private int examCount;
+
+    // Subject and teacher dictionaries, ordered by id
+    private long[] subjectIds = new long[0];
+    private String[] subjectNames = new String[0];
+    private int[] subjectTeacher = new int[0]; // position in the teacher dictionary, -1 if unassigned
+    private long[] teacherIds = new long[0];
+    private String[] teacherNames = new String[0];
+
+    public ColumnarResultsSnapshot(ExamResultRepository examResultRepository,
+            ExamRepository examRepository,
+            SubjectRepository subjectRepository,
+            TeacherRepository teacherRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.columnar.enabled:false}") boolean enabled,
+            @Value("${analytics.parallel.enabled:false}") boolean parallelEnabled,
+            @Value("${analytics.parallel.threads:4}") int parallelThreads,
+            @Qualifier("analyticsExecutor") Executor analyticsExecutor) {
+        this.examResultRepository = examResultRepository;
+        this.examRepository = examRepository;
+        this.subjectRepository = subjectRepository;
+        this.teacherRepository = teacherRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.parallelEnabled = parallelEnabled;
+        this.parallelThreads = Math.max(parallelThreads, 1);
+        this.analyticsExecutor = analyticsExecutor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rowStudent = new int[INITIAL_ROWS];
+            rowExam = new int[INITIAL_ROWS];
+            rowMarks = new int[INITIAL_ROWS];
+            rowCount = 0;
+            rowIndex.clear();
+            studentIndex.clear();
+            examIndex.clear();
+            examCount = 0;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                loadDictionaries();
+                try (Stream<ExamMarkView> rows = examResultRepository.streamExamMarks()) {
+                    rows.forEach(row -> put(row.getExamId(), row.getStudentId(), row.getMarksObtained()));
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<PerformanceSummary> subjectSummaries() {
+        lock.readLock().lock();
+        try {
+            int[] examGroup = Arrays.copyOf(examSubject, examCount);
+            return toSummaries(subjectIds, subjectNames, scan(examGroup, subjectIds.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<PerformanceSummary> teacherSummaries() {
+        lock.readLock().lock();
+        try {
+            int[] examGroup = new int[examCount];
+            for (int e = 0; e < examCount; e++) {
+                int subject = examSubject[e];
+                examGroup[e] = subject < 0 ? -1 : subjectTeacher[subject];
+            }
+            return toSummaries(teacherIds, teacherNames, scan(examGroup, teacherIds.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tallies every row into the group its exam maps to (-1 skips the row). In
+     * parallel mode large snapshots are cut into one row range per analytics
+     * thread and the partial tallies merged. Caller holds the read lock, which
+     * keeps writers out until the workers are done.
+     */
+    private PerformanceAccumulator[] scan(int[] examGroup, int groups) {
+        int ranges = parallelEnabled ? Math.min(parallelThreads, rowCount / MIN_PARALLEL_ROWS) : 1;
+        if (ranges <= 1) {
+            return scanRange(examGroup, groups, 0, rowCount);
+        }
+        int rangeSize = (rowCount + ranges - 1) / ranges;
+        List<CompletableFuture<PerformanceAccumulator[]>> partials = new ArrayList<>(ranges);
+        for (int from = 0; from < rowCount; from += rangeSize) {
+            int start = from;
+            int end = Math.min(from + rangeSize, rowCount);
+            partials.add(CompletableFuture.supplyAsync(() -> scanRange(examGroup, groups, start, end),
+                    analyticsExecutor));
+        }
+        PerformanceAccumulator[] total = newAccumulators(groups);
+        for (CompletableFuture<PerformanceAccumulator[]> partial : partials) {
+            PerformanceAccumulator[] stats = join(partial);
+            for (int g = 0; g < groups; g++) {
+                total[g].merge(stats[g]);
+            }
+        }
+        return total;
+    }
+
+    private PerformanceAccumulator[] scanRange(int[] examGroup, int groups, int from, int to) {
+        PerformanceAccumulator[] stats = newAccumulators(groups);
+        for (int r = from; r < to; r++) {
+            int exam = rowExam[r];
+            int group = examGroup[exam];
+            if (group < 0) {
+                continue;
+            }
+            stats[group].addMarks(rowMarks[r], examMaxMarks[exam]);
+        }
+        return stats;
+    }
+
+    private static List<PerformanceSummary> toSummaries(long[] ids, String[] names, PerformanceAccumulator[] stats) {
+        List<PerformanceSummary> result = new ArrayList<>(stats.length);
+        for (int g = 0; g < stats.length; g++) {
+            result.add(new Summary(ids[g], names[g], stats[g]));
+        }
+        return result;
+    }
+
+    private static PerformanceAccumulator[] newAccumulators(int size) {
+        PerformanceAccumulator[] stats = new PerformanceAccumulator[size];
+        for (int i = 0; i < size; i++) {
+            stats[i] = new PerformanceAccumulator();
+        }
+        return stats;
+    }
+
+    // Rethrows a worker's failure as itself rather than a CompletionException
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (ResultChange change : event.changes()) {
+                if (!examIndex.containsKey(change.examId())) {
+                    // Exam created after the last dictionary load
+                    loadDictionaries();
+                }
+                if (change.newMarks() == null) {
+                    remove(change.examId(), change.studentId());
+                } else {
+                    put(change.examId(), change.studentId(), change.newMarks());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onExamsChanged(ExamsChangedEvent event) {
+        reloadDictionaries();
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onSubjectsChanged(SubjectsChangedEvent event) {
+        reloadDictionaries();
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onTeachersChanged(TeachersChangedEvent event) {
+        reloadDictionaries();
+    }
+
+    private void reloadDictionaries() {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            loadDictionaries();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void loadDictionaries() {
+        List<IdNameView> teachers = teacherRepository.findAllNames();
+        long[] newTeacherIds = new long[teachers.size()];
+        String[] newTeacherNames = new String[teachers.size()];
+        Map<Long, Integer> teacherPosition = new HashMap<>();
+        for (int t = 0; t < teachers.size(); t++) {
+            newTeacherIds[t] = teachers.get(t).getId();
+            newTeacherNames[t] = teachers.get(t).getName();
+            teacherPosition.put(newTeacherIds[t], t);
+        }
+
+        List<SubjectOwnerView> subjects = subjectRepository.findAllOwners();
+        long[] newSubjectIds = new long[subjects.size()];
+        String[] newSubjectNames = new String[subjects.size()];
+        int[] newSubjectTeacher = new int[subjects.size()];
+        Map<Long, Integer> subjectPosition = new HashMap<>();
+        for (int s = 0; s < subjects.size(); s++) {
+            SubjectOwnerView subject = subjects.get(s);
+            newSubjectIds[s] = subject.getId();
+            newSubjectNames[s] = subject.getName();
+            newSubjectTeacher[s] = subject.getTeacherId() == null ? -1
+                    : teacherPosition.getOrDefault(subject.getTeacherId(), -1);
+            subjectPosition.put(newSubjectIds[s], s);
+        }
+
+        for (ExamAttributesView exam : examRepository.findAllAttributes()) {
+            int index = examIndex.computeIfAbsent(exam.getId(), id -> appendExam());
+            examMaxMarks[index] = exam.getMaxMarks();
+            examSubjectId[index] = exam.getSubjectId() == null ? -1 : exam.getSubjectId();
+        }
+        for (int e = 0; e < examCount; e++) {
+            examSubject[e] = subjectPosition.getOrDefault(examSubjectId[e], -1);
+        }
+
+        teacherIds = newTeacherIds;
+        teacherNames = newTeacherNames;
+        subjectIds = newSubjectIds;
+        subjectNames = newSubjectNames;
+        subjectTeacher = newSubjectTeacher;
+    }
+
+    private int appendExam() {
+        if (examCount == examMaxMarks.length) {
+            int capacity = Math.max(16, examCount * 2);
+            examMaxMarks = Arrays.copyOf(examMaxMarks, capacity);
+            examSubjectId = Arrays.copyOf(examSubjectId, capacity);
+            examSubject = Arrays.copyOf(examSubject, capacity);
+        }
+        examSubject[examCount] = -1;
+        return examCount++;
+    }
+
+    private void put(Long examId, Long studentId, int marks) {
+        Integer exam = examIndex.get(examId);
+        if (exam == null) {
+            return;
+        }
+        int student = studentIndex.computeIfAbsent(studentId, id -> studentIndex.size());
+        long key = key(exam, student);
+        int row = rowIndex.get(key);
+        if (row >= 0) {
+            rowMarks[row] = marks;
+            return;
+        }
+        if (rowCount == rowMarks.length) {
+            int capacity = Math.max(INITIAL_ROWS, rowCount * 2);
+            rowStudent = Arrays.copyOf(rowStudent, capacity);
+            rowExam = Arrays.copyOf(rowExam, capacity);
+            rowMarks = Arrays.copyOf(rowMarks, capacity);
+        }
+        rowStudent[rowCount] = student;
+        rowExam[rowCount] = exam;
+        rowMarks[rowCount] = marks;
+        rowIndex.put(key, rowCount++);
+    }
+
+    // Removes by moving the last row into the hole, keeping the columns dense
+    private void remove(Long examId, Long studentId) {
+        Integer exam = examIndex.get(examId);
+        Integer student = studentIndex.get(studentId);
+        if (exam == null || student == null) {
+            return;
+        }
+        long key = key(exam, student);
+        int row = rowIndex.remove(key);
+        if (row < 0) {
+            return;
+        }
+        int last = --rowCount;
+        if (row != last) {
+            rowStudent[row] = rowStudent[last];
+            rowExam[row] = rowExam[last];
+            rowMarks[row] = rowMarks[last];
+            rowIndex.put(key(rowExam[row], rowStudent[row]), row);
+        }
+    }
+
+    private static long key(int exam, int student) {
+        return ((long) exam << 32) | student;
+    }
+
+    private static final class Summary implements PerformanceSummary {
+
+        private final Long groupId;
+        private final String groupName;
+        private final Double percentageSum;
+        private final Long resultCount;
+        private final Long passCount;
+        private final Long distinctionCount;
+
+        Summary(long groupId, String groupName, PerformanceAccumulator stats) {
+            this.groupId = groupId;
+            this.groupName = groupName;
+            this.percentageSum = stats.sum();
+            this.resultCount = stats.count();
+            this.passCount = stats.passCount();
+            this.distinctionCount = stats.distinctionCount();
+        }
+
+        @Override
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        @Override
+        public String getGroupName() {
+            return groupName;
+        }
+
+        @Override
+        public Double getPercentageSum() {
+            return percentageSum;
+        }
+
+        @Override
+        public Long getResultCount() {
+            return resultCount;
+        }
+
+        @Override
+        public Long getPassCount() {
+            return passCount;
+        }
+
+        @Override
+        public Long getDistinctionCount() {
+            return distinctionCount;
+        }
+    }
+
+    /**
+     * Open-addressing long -> int map (linear probing, backward-shift delete) so
+     * the (exam, student) row index costs 12 bytes per slot instead of a boxed
+     * entry per row. Keys are non-negative; -1 marks an empty slot.
+     */
+    static final class LongIntHashMap {
+
+        private static final long EMPTY = -1L;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntHashMap() {
+            clear();
+        }
+
+        void clear() {
+            keys = new long[INITIAL_ROWS];
+            values = new int[INITIAL_ROWS];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 3 > keys.length * 2) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+            keys[i] = EMPTY;
+            size--;
+            // Shift back any following entries whose probe chain crossed the hole
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!reachable) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    keys[j] = EMPTY;
+                    i = j;
+                }
+            }
+            return removed;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.repo.PerformanceSummary;
+
+/**
+ * Single-pass totals over exam percentages, kept in primitive fields so no
+ * boxed lists or intermediate streams are created. Every performance figure
+ * in the application (average, pass rate, distinctions, teacher score) and
+ * every pass/distinction classification is derived here.
+ *
+ * Totals may go negative when an instance is used as a delta (marks removed
+ * with {@link #removeMarks}). Not thread-safe; use one instance per
+ * computation and {@link #merge} to combine partial results.
+ */
+public final class PerformanceAccumulator {
+
+    private static final double PASS_THRESHOLD = 40;
+    private static final double DISTINCTION_THRESHOLD = 75;
+
+    private long count;
+    private double sum;
+    private long passCount;
+    private long distinctionCount;
+
+    // Rebuilds an accumulator from stored totals (database aggregates)
+    public static PerformanceAccumulator ofTotals(double percentageSum, long count, long passCount,
+            long distinctionCount) {
+        PerformanceAccumulator acc = new PerformanceAccumulator();
+        acc.count = count;
+        acc.sum = percentageSum;
+        acc.passCount = passCount;
+        acc.distinctionCount = distinctionCount;
+        return acc;
+    }
+
+    public static PerformanceAccumulator of(PerformanceSummary summary) {
+        return ofTotals(summary.getPercentageSum(), summary.getResultCount(), summary.getPassCount(),
+                summary.getDistinctionCount());
+    }
+
+    public static double percentage(int marksObtained, int maxMarks) {
+        return (marksObtained * 100.0) / maxMarks;
+    }
+
+    public void addMarks(int marksObtained, int maxMarks) {
+        add(percentage(marksObtained, maxMarks), 1);
+    }
+
+    public void removeMarks(int marksObtained, int maxMarks) {
+        add(percentage(marksObtained, maxMarks), -1);
+    }
+
+    public void merge(PerformanceAccumulator other) {
+        count += other.count;
+        sum += other.sum;
+        passCount += other.passCount;
+        distinctionCount += other.distinctionCount;
+    }
+
+    public PerformanceAccumulator negate() {
+        return ofTotals(-sum, -count, -passCount, -distinctionCount);
+    }
+
+    public boolean isEmpty() {
+        return count == 0 && sum == 0 && passCount == 0 && distinctionCount == 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public long passCount() {
+        return passCount;
+    }
+
+    public long distinctionCount() {
+        return distinctionCount;
+    }
+
+    public double average() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    public double passPercentage() {
+        return count > 0 ? passCount * 100.0 / count : 0.0;
+    }
+
+    public double distinctionPercentage() {
+        return count > 0 ? distinctionCount * 100.0 / count : 0.0;
+    }
+
+    // Combined teacher metric: 60% average, 30% pass rate, 10% distinction rate
+    public double performanceScore() {
+        return count > 0 ? average() * 0.6 + passPercentage() * 0.3 + distinctionPercentage() * 0.1 : 0.0;
+    }
+
+    private void add(double percentage, int sign) {
+        count += sign;
+        sum += sign * percentage;
+        if (percentage >= PASS_THRESHOLD) {
+            passCount += sign;
+        }
+        if (percentage >= DISTINCTION_THRESHOLD) {
+            distinctionCount += sign;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.entity.Subject;
+import com.example.Student_Management_System.repo.ResultRemovalView;
+
+/**
+ * A single mark written to exam_results, with the value it replaced.
+ * oldMarks is null for a newly entered mark; newMarks is null when a mark is
+ * removed. teacherId is null when the exam's subject has no assigned teacher.
+ */
+public record ResultChange(Long examId,
+        Long studentId,
+        Long subjectId,
+        Long teacherId,
+        int maxMarks,
+        Integer oldMarks,
+        Integer newMarks) {
+
+    public static ResultChange of(Exam exam, Long studentId, Integer oldMarks, Integer newMarks) {
+        Subject subject = exam.getSubject();
+        Long teacherId = subject.getAssignedTeacher() != null ? subject.getAssignedTeacher().getId() : null;
+        return new ResultChange(exam.getId(), studentId, subject.getId(), teacherId, exam.getMaxMarks(), oldMarks,
+                newMarks);
+    }
+
+    public static ResultChange removal(ResultRemovalView row) {
+        return new ResultChange(row.getExamId(), row.getStudentId(), row.getSubjectId(), row.getTeacherId(),
+                row.getMaxMarks(), row.getMarksObtained(), null);
+    }
+
+    public boolean isNoOp() {
+        return oldMarks == null ? newMarks == null : oldMarks.equals(newMarks);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.event.ExamsChangedEvent;
+import com.example.Student_Management_System.event.ResultsChangedEvent;
+import com.example.Student_Management_System.repo.ExamMarkView;
+import com.example.Student_Management_System.repo.ExamResultRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one {@link ScoreHistogram} per exam. Built once from exam_results at
+ * startup, before any request can commit a result, and then updated
+ * incrementally after each committed result change, so distribution queries
+ * never rescan the marks.
+ */
+@Component
+public class ScoreDistributionRegistry {
+
+    private final ExamResultRepository examResultRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, ScoreHistogram> byExam = new ConcurrentHashMap<>();
+
+    public ScoreDistributionRegistry(ExamResultRepository examResultRepository,
+            PlatformTransactionManager transactionManager) {
+        this.examResultRepository = examResultRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public synchronized void rebuild() {
+        byExam.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ExamMarkView> rows = examResultRepository.streamExamMarks()) {
+                rows.forEach(row -> histogram(row.getExamId())
+                        .add(PerformanceAccumulator.percentage(row.getMarksObtained(), row.getMaxMarks())));
+            }
+        });
+    }
+
+    // Merged copy across the given exams; exams without results contribute nothing
+    public ScoreHistogram merged(Collection<Long> examIds) {
+        ScoreHistogram merged = new ScoreHistogram();
+        for (Long examId : examIds) {
+            ScoreHistogram histogram = byExam.get(examId);
+            if (histogram != null) {
+                histogram.mergeInto(merged);
+            }
+        }
+        return merged;
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        for (ResultChange change : event.changes()) {
+            ScoreHistogram histogram = histogram(change.examId());
+            if (change.oldMarks() != null) {
+                histogram.remove(PerformanceAccumulator.percentage(change.oldMarks(), change.maxMarks()));
+            }
+            if (change.newMarks() != null) {
+                histogram.add(PerformanceAccumulator.percentage(change.newMarks(), change.maxMarks()));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onExamsChanged(ExamsChangedEvent event) {
+        // Deleted exams have already had their results removed; drop the empty shells
+        for (Long examId : event.examIds()) {
+            byExam.computeIfPresent(examId, (id, histogram) -> histogram.count() == 0 ? null : histogram);
+        }
+    }
+
+    private ScoreHistogram histogram(Long examId) {
+        return byExam.computeIfAbsent(examId, id -> new ScoreHistogram());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Student_Management_System.analytics;
+
+/**
+ * Fixed-bucket histogram of percentages on 0-100 with 1% buckets (100% falls
+ * in the last bucket). Supports removal, so it can follow mark edits, and
+ * merging, so exam histograms combine into subject and teacher views.
+ * Quantiles are interpolated within a bucket and accurate to within 1%.
+ */
+public class ScoreHistogram {
+
+    public static final int BUCKETS = 100;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private double sum;
+
+    public synchronized void add(double percentage) {
+        counts[bucketOf(percentage)]++;
+        total++;
+        sum += percentage;
+    }
+
+    public synchronized void remove(double percentage) {
+        int bucket = bucketOf(percentage);
+        if (counts[bucket] > 0) {
+            counts[bucket]--;
+            total--;
+            sum -= percentage;
+        }
+    }
+
+    public synchronized void mergeInto(ScoreHistogram target) {
+        synchronized (target) {
+            for (int i = 0; i < BUCKETS; i++) {
+                target.counts[i] += counts[i];
+            }
+            target.total += total;
+            target.sum += sum;
+        }
+    }
+
+    public synchronized long count() {
+        return total;
+    }
+
+    public synchronized double mean() {
+        return total > 0 ? sum / total : 0.0;
+    }
+
+    /**
+     * @param q quantile in [0, 1], e.g. 0.5 for the median
+     */
+    public synchronized double quantile(double q) {
+        if (total == 0) {
+            return 0.0;
+        }
+        double target = Math.min(Math.max(q, 0.0), 1.0) * total;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long inBucket = counts[i];
+            if (inBucket > 0 && cumulative + inBucket >= target) {
+                double fraction = (target - cumulative) / inBucket;
+                return Math.min(i + fraction, 100.0);
+            }
+            cumulative += inBucket;
+        }
+        return 100.0;
+    }
+
+    // Counts regrouped into `bins` equal-width bins (bins must divide 100)
+    public synchronized long[] coarseCounts(int bins) {
+        long[] coarse = new long[bins];
+        int width = BUCKETS / bins;
+        for (int i = 0; i < BUCKETS; i++) {
+            coarse[Math.min(i / width, bins - 1)] += counts[i];
+        }
+        return coarse;
+    }
+
+    private static int bucketOf(double percentage) {
+        if (percentage <= 0) {
+            return 0;
+        }
+        return Math.min((int) percentage, BUCKETS - 1);
+    }
+}
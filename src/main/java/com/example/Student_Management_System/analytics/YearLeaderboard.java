@@ -0,0 +1,156 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.dto.StudentPerformanceDto;
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.event.ResultsChangedEvent;
+import com.example.Student_Management_System.event.StudentsChangedEvent;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.StudentPerformanceSummary;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of students partitioned by academic year. Each year keeps
+ * its own sorted set, so top-N and rank queries for one year never touch the
+ * others. Built at startup before any request is served, then entries are
+ * refreshed from the performance aggregates after each committed write.
+ */
+@Component
+public class YearLeaderboard {
+
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingDouble(Standing::averageMarks).reversed()
+            .thenComparing(Standing::studentId);
+
+    private final PerformanceStatRepository performanceStatRepository;
+
+    private final Map<Integer, ConcurrentSkipListSet<Standing>> byYear = new ConcurrentHashMap<>();
+    private final Map<Long, Standing> byStudent = new ConcurrentHashMap<>();
+    private volatile boolean initialized;
+
+    public YearLeaderboard(PerformanceStatRepository performanceStatRepository) {
+        this.performanceStatRepository = performanceStatRepository;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public synchronized void rebuild() {
+        byYear.clear();
+        byStudent.clear();
+        for (StudentPerformanceSummary summary : performanceStatRepository
+                .findStudentSummaries(PerformanceScope.STUDENT)) {
+            put(Standing.of(summary));
+        }
+        initialized = true;
+    }
+
+    public List<StudentPerformanceDto> top(int year, int limit) {
+        ConcurrentSkipListSet<Standing> standings = byYear.get(year);
+        List<StudentPerformanceDto> result = new ArrayList<>();
+        if (standings == null) {
+            return result;
+        }
+        int rank = 0;
+        for (Standing standing : standings) {
+            if (rank == limit) {
+                break;
+            }
+            result.add(standing.toDto(++rank));
+        }
+        return result;
+    }
+
+    // 1-based rank of the student within their year. Counts the students ahead
+    // by walking the year's set (a skip list keeps no subtree sizes), so it is
+    // O(students in that year): a few thousand entries per call at most, which
+    // is cheaper than maintaining an order-statistic index on every write
+    public Optional<StudentPerformanceDto> standingOf(Long studentId) {
+        Standing standing = byStudent.get(studentId);
+        if (standing == null) {
+            return Optional.empty();
+        }
+        ConcurrentSkipListSet<Standing> standings = byYear.get(standing.year());
+        if (standings == null) {
+            return Optional.empty();
+        }
+        return Optional.of(standing.toDto(standings.headSet(standing).size() + 1));
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        refresh(event.studentIds());
+    }
+
+    @TransactionalEventListener
+    @Order(AnalyticsListenerOrder.VIEW_UPDATE)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        refresh(event.studentIds());
+    }
+
+    // The aggregates are read inside the lock: listeners for two commits can
+    // run in either order, and whichever applies last must not install the
+    // older standing. Reading after the other listener's update guarantees
+    // the newer commit is visible
+    private synchronized void refresh(Set<Long> studentIds) {
+        if (!initialized || studentIds.isEmpty()) {
+            return;
+        }
+        Map<Long, StudentPerformanceSummary> current = new HashMap<>();
+        for (StudentPerformanceSummary summary : performanceStatRepository
+                .findStudentSummariesByIds(PerformanceScope.STUDENT, studentIds)) {
+            current.put(summary.getGroupId(), summary);
+        }
+        for (Long studentId : studentIds) {
+            remove(studentId);
+            StudentPerformanceSummary summary = current.get(studentId);
+            if (summary != null) {
+                put(Standing.of(summary));
+            }
+        }
+    }
+
+    private void put(Standing standing) {
+        byStudent.put(standing.studentId(), standing);
+        byYear.computeIfAbsent(standing.year(), y -> new ConcurrentSkipListSet<>(ORDER)).add(standing);
+    }
+
+    private void remove(Long studentId) {
+        Standing previous = byStudent.remove(studentId);
+        if (previous != null) {
+            ConcurrentSkipListSet<Standing> standings = byYear.get(previous.year());
+            if (standings != null) {
+                standings.remove(previous);
+            }
+        }
+    }
+
+    private record Standing(Long studentId, String rollNo, String name, Integer year,
+            double averageMarks, double passPercentage) {
+
+        static Standing of(StudentPerformanceSummary summary) {
+            PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+            return new Standing(summary.getGroupId(), summary.getRollNo(), summary.getGroupName(),
+                    summary.getYear(), stats.average(), stats.passPercentage());
+        }
+
+        StudentPerformanceDto toDto(int rank) {
+            StudentPerformanceDto dto = new StudentPerformanceDto();
+            dto.setStudentId(studentId);
+            dto.setStudentRollNo(rollNo);
+            dto.setStudentName(name);
+            dto.setYear(year);
+            dto.setAverageMarks(averageMarks);
+            dto.setPassPercentage(passPercentage);
+            dto.setRank(rank);
+            return dto;
+        }
+    }
+}
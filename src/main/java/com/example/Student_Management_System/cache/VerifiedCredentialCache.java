@@ -0,0 +1,81 @@
+package com.example.Student_Management_System.cache;
+
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Remembers username/password pairs that recently passed a full BCrypt check,
+ * so repeated HTTP Basic requests skip the user lookup and the hash.
+ *
+ * Keys hold the username and an HMAC of username and password under a random
+ * per-process secret; the plaintext password is never stored. Failed logins
+ * are never cached. Entries expire after a short TTL and are dropped once a
+ * change to the user's credentials commits.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    // What a successful login resolved to
+    public record Verified(Object principal, Collection<? extends GrantedAuthority> authorities) {
+    }
+
+    // username is normalized so invalidation matches every casing that logged
+    // in; the digest still covers the username exactly as typed
+    private record Key(String username, String digest) {
+    }
+
+    private final boolean enabled;
+    private final BoundedTtlCache<Key, Verified> cache;
+    private final byte[] secret = new byte[32];
+
+    public VerifiedCredentialCache(@Value("${security.credential-cache.enabled:true}") boolean enabled,
+            @Value("${security.credential-cache.max-entries:1024}") int maxEntries,
+            @Value("${security.credential-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlSeconds * 1000);
+        new SecureRandom().nextBytes(secret);
+    }
+
+    // Returns the cached result, or runs the full verification (which throws
+    // on bad credentials) and caches its result
+    public Verified get(String username, String password, Supplier<Verified> verifier) {
+        if (!enabled) {
+            return verifier.get();
+        }
+        Key key = new Key(CredentialsChangedEvent.normalize(username), digest(username, password));
+        return cache.get(key, verifier);
+    }
+
+    // fallbackExecution: DataInitializer resets the admin password outside a
+    // transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(CredentialsChangedEvent event) {
+        Set<String> usernames = event.normalizedUsernames();
+        cache.invalidateIf(key -> usernames.contains(key.username()));
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Student_Management_System.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AnalyticsConfig {
+
+    /**
+     * Bounded pool for the parallel columnar scan. Workers only read in-memory
+     * arrays, so size it to the cores available. When the queue is full the
+     * caller runs the task itself.
+     */
+    @Bean(name = "analyticsExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor analyticsExecutor(@Value("${analytics.parallel.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single thread for background analytics snapshot refreshes. Kept apart from
+     * the parallel pool so a refresh can fan out onto it without starving itself.
+     */
+    @Bean(name = "analyticsRefreshExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor analyticsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("analytics-refresh-");
+        executor.initialize();
+        return executor;
+    }
+}
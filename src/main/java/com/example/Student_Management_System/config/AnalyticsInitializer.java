@@ -0,0 +1,33 @@
+package com.example.Student_Management_System.config;
+
+import com.example.Student_Management_System.analytics.AnalyticsSnapshotStore;
+import com.example.Student_Management_System.analytics.ColumnarResultsSnapshot;
+import com.example.Student_Management_System.analytics.ScoreDistributionRegistry;
+import com.example.Student_Management_System.analytics.YearLeaderboard;
+import com.example.Student_Management_System.service.PerformanceStatService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AnalyticsInitializer {
+
+    @Bean
+    public SmartInitializingSingleton rebuildPerformanceStats(PerformanceStatService performanceStatService,
+            YearLeaderboard yearLeaderboard,
+            ScoreDistributionRegistry scoreDistributionRegistry,
+            ColumnarResultsSnapshot columnarResultsSnapshot,
+            AnalyticsSnapshotStore analyticsSnapshotStore) {
+        // Aggregates are derived data; recompute them once so they always match
+        // exam_results after a restart. Runs once all beans exist but before the
+        // web server and the scheduler start, so no write can commit mid-build
+        // and have its event skipped by a view that is not ready yet.
+        return () -> {
+            performanceStatService.rebuildAll();
+            yearLeaderboard.rebuild();
+            scoreDistributionRegistry.rebuild();
+            columnarResultsSnapshot.rebuild();
+            analyticsSnapshotStore.refreshAsync();
+        };
+    }
+}
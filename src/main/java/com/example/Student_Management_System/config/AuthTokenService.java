@@ -0,0 +1,183 @@
+package com.example.Student_Management_System.config;
+
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies self-contained bearer tokens:
+ * {@code base64url(json claims) + "." + base64url(HMAC-SHA256(claims))}.
+ *
+ * Verification needs only the shared secret, so any node can accept a token
+ * issued by any other without a session store or a database lookup. Set
+ * {@code security.token.secret} (at least 32 bytes) to the same value on every
+ * node, otherwise a random per-process secret is used and tokens only work on
+ * the node that issued them.
+ *
+ * Tokens are short-lived but renewable: a still-valid token can be exchanged
+ * for a fresh one until the sign-in it descends from is
+ * {@code security.token.max-session-hours} old, after which the password is
+ * needed again. A committed credentials change also revokes every
+ * token the user was issued before it: the change time is kept in memory per
+ * username for one TTL and compared with the token's issue time. That record
+ * is per node, so on other nodes a revoked token lives until it expires.
+ */
+@Component
+public class AuthTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenService.class);
+
+    // What a token asserts; also the principal of token-authenticated requests
+    public record TokenClaims(String username,
+            String role,
+            Long teacherId,
+            String rollNo,
+            String displayName,
+            long authenticatedAt, // epoch seconds of the password sign-in; kept on renewal
+            long issuedAtMillis,
+            long expiresAt) implements Principal {
+
+        @Override
+        @JsonIgnore
+        public String getName() {
+            return username;
+        }
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final Duration ttl;
+    private final Duration maxSession;
+    // Normalized username -> time (epoch millis) of its last credentials change
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public AuthTokenService(ObjectMapper objectMapper,
+            @Value("${security.token.secret:}") String secret,
+            @Value("${security.token.ttl-minutes:15}") long ttlMinutes,
+            @Value("${security.token.max-session-hours:12}") long maxSessionHours) {
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxSession = Duration.ofHours(maxSessionHours);
+        if (secret == null || secret.isBlank()) {
+            log.warn("security.token.secret is not set; bearer tokens will only be accepted by this instance");
+            this.secret = new byte[32];
+            new SecureRandom().nextBytes(this.secret);
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+            if (this.secret.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException(
+                        "security.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+        }
+    }
+
+    public TokenClaims claims(String username, String role, Long teacherId, String rollNo, String displayName) {
+        Instant now = Instant.now();
+        return new TokenClaims(username, role, teacherId, rollNo, displayName, now.getEpochSecond(),
+                now.toEpochMilli(), expiry(now, now.getEpochSecond()));
+    }
+
+    // Fresh claims for a verified token, or empty once its sign-in has reached
+    // the maximum session length
+    public Optional<TokenClaims> renew(TokenClaims current) {
+        Instant now = Instant.now();
+        if (now.getEpochSecond() >= sessionEnd(current.authenticatedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenClaims(current.username(), current.role(), current.teacherId(),
+                current.rollNo(), current.displayName(), current.authenticatedAt(), now.toEpochMilli(),
+                expiry(now, current.authenticatedAt())));
+    }
+
+    // Epoch seconds after which no token descending from this sign-in is issued
+    public long sessionEnd(long authenticatedAt) {
+        return authenticatedAt + maxSession.toSeconds();
+    }
+
+    private long expiry(Instant now, long authenticatedAt) {
+        return Math.min(now.plus(ttl).getEpochSecond(), sessionEnd(authenticatedAt));
+    }
+
+    public String issue(TokenClaims claims) {
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + ENCODER.encodeToString(sign(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not issue token", e);
+        }
+    }
+
+    // Empty for a malformed, tampered, expired or revoked token
+    public Optional<TokenClaims> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+            TokenClaims claims = objectMapper.readValue(DECODER.decode(payload), TokenClaims.class);
+            if (claims.username() == null || claims.role() == null
+                    || claims.expiresAt() <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            Long revoked = revokedBefore.get(CredentialsChangedEvent.normalize(claims.username()));
+            if (revoked != null && claims.issuedAtMillis() < revoked) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // fallbackExecution: DataInitializer resets the admin password outside a
+    // transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(CredentialsChangedEvent event) {
+        long now = System.currentTimeMillis();
+        for (String username : event.normalizedUsernames()) {
+            revokedBefore.put(username, now);
+        }
+        // Tokens issued before an older change have expired by now
+        revokedBefore.values().removeIf(changedAt -> changedAt < now - ttl.toMillis());
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Student_Management_System.config;
+
+import com.example.Student_Management_System.repo.BulkSubmissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Forgets stored bulk submission outcomes once clients can no longer be
+ * retrying them.
+ */
+@Component
+public class BulkSubmissionCleanup {
+
+    private final BulkSubmissionRepository bulkSubmissionRepository;
+    private final long retentionHours;
+
+    public BulkSubmissionCleanup(BulkSubmissionRepository bulkSubmissionRepository,
+            @Value("${results.bulk.idempotency-retention-hours:24}") long retentionHours) {
+        this.bulkSubmissionRepository = bulkSubmissionRepository;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "PT1H")
+    @Transactional
+    public void purgeExpired() {
+        bulkSubmissionRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
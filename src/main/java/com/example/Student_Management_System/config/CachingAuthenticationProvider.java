@@ -0,0 +1,48 @@
+package com.example.Student_Management_System.config;
+
+import com.example.Student_Management_System.cache.VerifiedCredentialCache;
+import com.example.Student_Management_System.cache.VerifiedCredentialCache.Verified;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.List;
+
+/**
+ * Username/password authentication that consults the verified-credential
+ * cache before delegating to the BCrypt-checking provider.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, VerifiedCredentialCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+        Verified verified = cache.get(authentication.getName(), credentials.toString(), () -> {
+            Authentication result = delegate.authenticate(authentication);
+            return new Verified(result.getPrincipal(), List.copyOf(result.getAuthorities()));
+        });
+
+        // A fresh token per request; the cached entry is shared
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                verified.principal(), null, verified.authorities());
+        token.setDetails(authentication.getDetails());
+        return token;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
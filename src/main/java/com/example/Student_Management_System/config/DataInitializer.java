@@ -1,17 +1,22 @@
 package com.example.Student_Management_System.config;
 
 import com.example.Student_Management_System.entity.Admin;
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
 import com.example.Student_Management_System.repo.AdminRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Set;
+
 @Configuration
 public class DataInitializer {
 
     @Bean
-    public CommandLineRunner initData(AdminRepository adminRepository, PasswordEncoder passwordEncoder) {
+    public CommandLineRunner initData(AdminRepository adminRepository, PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         return args -> {
             // Read credentials from environment variables (set these before deploying!)
             String adminUsername = System.getenv("ADMIN_USERNAME");
@@ -37,6 +42,7 @@ public class DataInitializer {
 
             admin.setPassword(passwordEncoder.encode(finalPassword));
             adminRepository.save(admin);
+            eventPublisher.publishEvent(new CredentialsChangedEvent(Set.of(finalUsername)));
             System.out.println("✅ Admin account ready. Username: " + finalUsername);
         };
     }
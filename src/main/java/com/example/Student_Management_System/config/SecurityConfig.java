@@ -1,5 +1,6 @@
 package com.example.Student_Management_System.config;
 
+import com.example.Student_Management_System.cache.VerifiedCredentialCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
@@ -8,7 +9,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,7 +21,7 @@ import java.io.IOException;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthTokenService authTokenService) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -28,6 +31,10 @@ public class SecurityConfig {
                         .requestMatchers("/health").permitAll()
                         // Auth endpoint for any authenticated user
                         .requestMatchers("/api/me").authenticated()
+                        // Token issuing; the caller signs in with HTTP Basic once
+                        .requestMatchers("/api/token").authenticated()
+                        // Renewal of a still-valid bearer token
+                        .requestMatchers("/api/token/refresh").authenticated()
                         // Role-based API access
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/teacher/**").hasRole("TEACHER")
@@ -35,17 +42,21 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
                 .httpBasic(basic -> basic
                         // Custom entry point: returns 401 JSON instead of triggering browser popup
-                        .authenticationEntryPoint(new RestAuthenticationEntryPoint()));
+                        .authenticationEntryPoint(new RestAuthenticationEntryPoint()))
+                // Bearer tokens are checked from the signature alone: no DB lookup, no BCrypt
+                .addFilterBefore(new TokenAuthenticationFilter(authTokenService), BasicAuthenticationFilter.class);
         return http.build();
     }
 
+    // BCrypt-checking provider behind the verified-credential cache; only one
+    // AuthenticationProvider bean may exist for Spring Security to pick it up
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
-            PasswordEncoder passwordEncoder) {
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder, VerifiedCredentialCache verifiedCredentialCache) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
-        return authProvider;
+        return new CachingAuthenticationProvider(authProvider, verifiedCredentialCache);
     }
 
     /**
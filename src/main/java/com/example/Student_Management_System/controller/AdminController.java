@@ -1,11 +1,20 @@
 package com.example.Student_Management_System.controller;
 
+import com.example.Student_Management_System.analytics.AnalyticsCache;
+import com.example.Student_Management_System.analytics.AnalyticsSnapshot;
+import com.example.Student_Management_System.analytics.AnalyticsSnapshotStore;
 import com.example.Student_Management_System.dto.*;
 import com.example.Student_Management_System.service.*;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -17,17 +26,29 @@ public class AdminController {
     private final SubjectService subjectService;
     private final AnalyticsService analyticsService;
     private final ExamService examService;
+    private final AnalyticsCache analyticsCache;
+    private final ScoreDistributionService scoreDistributionService;
+    private final AnalyticsSnapshotStore analyticsSnapshots;
+    private final StudentImportService studentImportService;
 
     public AdminController(StudentService studentService,
             TeacherService teacherService,
             SubjectService subjectService,
             AnalyticsService analyticsService,
-            ExamService examService) {
+            ExamService examService,
+            AnalyticsCache analyticsCache,
+            ScoreDistributionService scoreDistributionService,
+            AnalyticsSnapshotStore analyticsSnapshots,
+            StudentImportService studentImportService) {
         this.studentService = studentService;
         this.teacherService = teacherService;
         this.subjectService = subjectService;
         this.analyticsService = analyticsService;
         this.examService = examService;
+        this.analyticsCache = analyticsCache;
+        this.scoreDistributionService = scoreDistributionService;
+        this.analyticsSnapshots = analyticsSnapshots;
+        this.studentImportService = studentImportService;
     }
 
     // ==================== Student CRUD ====================
@@ -57,6 +78,21 @@ public class AdminController {
         return studentService.getAllStudents();
     }
 
+    // Bulk intake from a CSV (rollNo,name,email,department,year,password) or
+    // NDJSON stream; poll progress with the same importId while it runs
+    @PostMapping(value = "/students/import", consumes = { "text/csv", "text/plain", "application/x-ndjson" })
+    public StudentImportSummaryDto importStudents(@RequestParam(name = "importId", required = false) String importId,
+            @RequestParam(name = "format", required = false) String format,
+            HttpServletRequest request) throws IOException {
+        UploadFormat importFormat = UploadFormat.resolve(format, request.getContentType());
+        return studentImportService.importStudents(importId, request.getReader(), importFormat);
+    }
+
+    @GetMapping("/students/import/{importId}")
+    public StudentImportSummaryDto getStudentImportProgress(@PathVariable("importId") String importId) {
+        return studentImportService.getProgress(importId);
+    }
+
     // ==================== Teacher CRUD ====================
 
     @PostMapping("/teachers")
@@ -119,19 +155,77 @@ public class AdminController {
 
     // ==================== Analytics ====================
 
+    // Subject, teacher and top-student figures come from the background snapshot
+    // when it is enabled, with its computation time in X-Computed-At
     @GetMapping("/analytics/subjects")
-    public List<SubjectPerformanceDto> getSubjectPerformance() {
-        return analyticsService.getSubjectWiseAverages();
+    public ResponseEntity<List<SubjectPerformanceDto>> getSubjectPerformance() {
+        Optional<AnalyticsSnapshot> snapshot = analyticsSnapshots.current();
+        if (snapshot.isPresent()) {
+            return withComputedAt(snapshot.get().subjects(), snapshot.get().computedAt());
+        }
+        return ResponseEntity.ok(analyticsService.getSubjectWiseAverages());
     }
 
     @GetMapping("/analytics/teachers")
-    public List<TeacherPerformanceDto> getTeacherPerformance() {
-        return analyticsService.getTeacherWisePerformance();
+    public ResponseEntity<List<TeacherPerformanceDto>> getTeacherPerformance() {
+        Optional<AnalyticsSnapshot> snapshot = analyticsSnapshots.current();
+        if (snapshot.isPresent()) {
+            return withComputedAt(snapshot.get().teachers(), snapshot.get().computedAt());
+        }
+        return ResponseEntity.ok(analyticsService.getTeacherWisePerformance());
     }
 
     @GetMapping("/analytics/top-students")
-    public List<StudentPerformanceDto> getTopStudents(@RequestParam(name = "limit", defaultValue = "100") int limit) {
-        return analyticsService.getTopPerformingStudents(limit);
+    public ResponseEntity<List<StudentPerformanceDto>> getTopStudents(
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        Optional<AnalyticsSnapshot> snapshot = analyticsSnapshots.current();
+        if (snapshot.isPresent() && analyticsSnapshots.coversTopStudents(limit)) {
+            return withComputedAt(snapshot.get().topStudents(limit), snapshot.get().computedAt());
+        }
+        return ResponseEntity.ok(analyticsService.getTopPerformingStudents(limit));
+    }
+
+    @GetMapping("/analytics/snapshot")
+    public AnalyticsSnapshotDto getAnalyticsSnapshot() {
+        AnalyticsSnapshot snapshot = analyticsSnapshots.current()
+                .orElseThrow(() -> new ResourceNotFoundException("Analytics snapshot is not available"));
+        AnalyticsSnapshotDto dto = new AnalyticsSnapshotDto();
+        dto.setComputedAt(snapshot.computedAt());
+        dto.setSubjects(snapshot.subjects());
+        dto.setTeachers(snapshot.teachers());
+        dto.setTopStudents(snapshot.topStudents());
+        return dto;
+    }
+
+    @GetMapping("/analytics/top-students/year/{year}")
+    public List<StudentPerformanceDto> getTopStudentsByYear(@PathVariable("year") int year,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return analyticsService.getTopStudentsByYear(year, limit);
+    }
+
+    @GetMapping("/analytics/students/{rollNo}/rank")
+    public StudentPerformanceDto getStudentYearRank(@PathVariable("rollNo") String rollNo) {
+        return analyticsService.getStudentYearRank(rollNo);
+    }
+
+    @GetMapping("/analytics/distribution/exams/{examId}")
+    public ScoreDistributionDto getExamDistribution(@PathVariable("examId") Long examId) {
+        return scoreDistributionService.getExamDistribution(examId);
+    }
+
+    @GetMapping("/analytics/distribution/subjects/{subjectId}")
+    public ScoreDistributionDto getSubjectDistribution(@PathVariable("subjectId") Long subjectId) {
+        return scoreDistributionService.getSubjectDistribution(subjectId);
+    }
+
+    @GetMapping("/analytics/distribution/teachers/{teacherId}")
+    public ScoreDistributionDto getTeacherDistribution(@PathVariable("teacherId") Long teacherId) {
+        return scoreDistributionService.getTeacherDistribution(teacherId);
+    }
+
+    @GetMapping("/analytics/cache-stats")
+    public CacheStatsDto getAnalyticsCacheStats() {
+        return analyticsCache.getStats();
     }
 
     // ==================== Exam Scheduling ====================
@@ -141,6 +235,12 @@ public class AdminController {
         return examService.createExam(dto);
     }
 
+    // Schedule many exams at once, e.g. a cycle test for every year-2 subject
+    @PostMapping("/exams/batch")
+    public List<ExamDto> createExams(@Valid @RequestBody ExamBatchRequestDto request) {
+        return examService.createExams(request);
+    }
+
     @PutMapping("/exams/{id}")
     public ExamDto updateExam(@PathVariable("id") Long id, @Valid @RequestBody ExamDto dto) {
         return examService.updateExam(id, dto);
@@ -165,4 +265,8 @@ public class AdminController {
     public List<ExamResultDto> getExamStudents(@PathVariable("id") Long id) {
         return examService.getExamStudents(id);
     }
+
+    private <T> ResponseEntity<T> withComputedAt(T body, Instant computedAt) {
+        return ResponseEntity.ok().header("X-Computed-At", computedAt.toString()).body(body);
+    }
 }
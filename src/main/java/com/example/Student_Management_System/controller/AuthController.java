@@ -1,11 +1,15 @@
 package com.example.Student_Management_System.controller;
 
-import com.example.Student_Management_System.entity.Teacher;
-import com.example.Student_Management_System.repo.StudentRepository;
-import com.example.Student_Management_System.repo.TeacherRepository;
+import com.example.Student_Management_System.config.AuthTokenService;
+import com.example.Student_Management_System.config.AuthTokenService.TokenClaims;
+import com.example.Student_Management_System.entity.LoginPrincipal;
+import com.example.Student_Management_System.exception.BadRequestException;
+import com.example.Student_Management_System.repo.LoginPrincipalRepository;
+import com.example.Student_Management_System.service.LoginUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,19 +21,58 @@ import java.util.Optional;
 @RequestMapping("/api")
 public class AuthController {
 
-    private final TeacherRepository teacherRepository;
-    private final StudentRepository studentRepository;
+    private final LoginPrincipalRepository loginPrincipalRepository;
+    private final AuthTokenService authTokenService;
 
-    public AuthController(TeacherRepository teacherRepository, StudentRepository studentRepository) {
-        this.teacherRepository = teacherRepository;
-        this.studentRepository = studentRepository;
+    public AuthController(LoginPrincipalRepository loginPrincipalRepository, AuthTokenService authTokenService) {
+        this.loginPrincipalRepository = loginPrincipalRepository;
+        this.authTokenService = authTokenService;
     }
 
     @GetMapping("/me")
     public Map<String, Object> getCurrentUser(Authentication authentication) {
-        Map<String, Object> user = new LinkedHashMap<>();
-        user.put("username", authentication.getName());
+        // Token requests already carry everything; no lookup needed
+        if (authentication.getPrincipal() instanceof TokenClaims claims) {
+            return toUserMap(claims);
+        }
+        return toUserMap(resolveClaims(authentication));
+    }
+
+    // Exchanges HTTP Basic credentials for a signed bearer token carrying the
+    // same fields as /me
+    @PostMapping("/token")
+    public Map<String, Object> issueToken(Authentication authentication) {
+        // A token renews through /token/refresh, which caps the session length
+        if (authentication.getPrincipal() instanceof TokenClaims) {
+            throw new BadRequestException("Sign in with username and password to obtain a token");
+        }
+        return tokenResponse(resolveClaims(authentication));
+    }
+
+    // Exchanges a still-valid bearer token for a fresh one, so an open tab
+    // stays signed in; the password is needed again once the sign-in reaches
+    // the maximum session length
+    @PostMapping("/token/refresh")
+    public Map<String, Object> refreshToken(Authentication authentication) {
+        if (!(authentication.getPrincipal() instanceof TokenClaims current)) {
+            throw new BadRequestException("Only a bearer token can be refreshed; use /api/token to sign in");
+        }
+        TokenClaims claims = authTokenService.renew(current)
+                .orElseThrow(() -> new BadRequestException("Session has reached its maximum length; sign in again"));
+        return tokenResponse(claims);
+    }
 
+    private Map<String, Object> tokenResponse(TokenClaims claims) {
+        Map<String, Object> response = toUserMap(claims);
+        response.put("token", authTokenService.issue(claims));
+        response.put("tokenType", "Bearer");
+        response.put("expiresAt", claims.expiresAt());
+        response.put("sessionExpiresAt", authTokenService.sessionEnd(claims.authenticatedAt()));
+        return response;
+    }
+
+    private TokenClaims resolveClaims(Authentication authentication) {
+        String username = authentication.getName();
         String role = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .filter(a -> a.startsWith("ROLE_"))
@@ -37,26 +80,32 @@ public class AuthController {
                 .findFirst()
                 .orElse("USER");
 
-        user.put("role", role);
-
-        // If TEACHER role, include the teacher's DB ID and name
-        if ("TEACHER".equals(role)) {
-            Optional<Teacher> teacher = teacherRepository.findByEmail(authentication.getName());
-            teacher.ifPresent(t -> {
-                user.put("teacherId", t.getId());
-                user.put("displayName", t.getName());
-            });
+        // Profile fields were resolved with the login itself; otherwise one
+        // probe of the unified principal view
+        if (authentication.getPrincipal() instanceof LoginUser user) {
+            return authTokenService.claims(username, role, user.getTeacherId(), user.getRollNo(),
+                    user.getDisplayName());
         }
+        Optional<LoginPrincipal> principal = loginPrincipalRepository.findLogin(username);
+        Long teacherId = principal.map(LoginPrincipal::getTeacherId).orElse(null);
+        String rollNo = principal.map(LoginPrincipal::getRollNo).orElse(null);
+        String displayName = principal.map(LoginPrincipal::getDisplayName).orElse(null);
+        return authTokenService.claims(username, role, teacherId, rollNo, displayName);
+    }
 
-        // If STUDENT role, include the student's rollNo and name
-        if ("STUDENT".equals(role)) {
-            studentRepository.findByEmail(authentication.getName())
-                    .ifPresent(s -> {
-                        user.put("rollNo", s.getRollNo());
-                        user.put("displayName", s.getName());
-                    });
+    private Map<String, Object> toUserMap(TokenClaims claims) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("username", claims.username());
+        user.put("role", claims.role());
+        if (claims.teacherId() != null) {
+            user.put("teacherId", claims.teacherId());
+        }
+        if (claims.rollNo() != null) {
+            user.put("rollNo", claims.rollNo());
+        }
+        if (claims.displayName() != null) {
+            user.put("displayName", claims.displayName());
         }
-
         return user;
     }
 }
@@ -7,6 +7,7 @@ import com.example.Student_Management_System.entity.Student;
 import com.example.Student_Management_System.entity.Subject;
 import com.example.Student_Management_System.exception.ResourceNotFoundException;
 import com.example.Student_Management_System.repo.StudentRepository;
+import com.example.Student_Management_System.service.AnalyticsService;
 import com.example.Student_Management_System.service.ExamService;
 import com.example.Student_Management_System.service.StudentService;
 import jakarta.validation.constraints.NotNull;
@@ -22,13 +23,16 @@ public class StudentController {
     private final StudentService studentService;
     private final StudentRepository studentRepository;
     private final ExamService examService;
+    private final AnalyticsService analyticsService;
 
     public StudentController(StudentService studentService,
             StudentRepository studentRepository,
-            ExamService examService) {
+            ExamService examService,
+            AnalyticsService analyticsService) {
         this.studentService = studentService;
         this.studentRepository = studentRepository;
         this.examService = examService;
+        this.analyticsService = analyticsService;
     }
 
     // View enrolled subjects
@@ -54,6 +58,12 @@ public class StudentController {
         return studentService.getStudentPerformanceByRollNo(rollNo);
     }
 
+    // View rank within the student's year
+    @GetMapping("/{rollNo}/rank")
+    public StudentPerformanceDto getYearRank(@PathVariable("rollNo") String rollNo) {
+        return analyticsService.getStudentYearRank(rollNo);
+    }
+
     // View exam results (cycle tests, internals, semester exams)
     @GetMapping("/{rollNo}/exam-results")
     public List<ExamResultDto> getExamResults(@PathVariable("rollNo") String rollNo) {
@@ -1,15 +1,27 @@
 package com.example.Student_Management_System.controller;
 
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
 import com.example.Student_Management_System.dto.ExamDto;
 import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.dto.ResultUploadSummaryDto;
+import com.example.Student_Management_System.dto.ScoreDistributionDto;
 import com.example.Student_Management_System.dto.SubjectDto;
 import com.example.Student_Management_System.dto.SubjectPerformanceDto;
 import com.example.Student_Management_System.service.AnalyticsService;
 import com.example.Student_Management_System.service.ExamService;
+import com.example.Student_Management_System.service.ResultUploadService;
+import com.example.Student_Management_System.service.ScoreDistributionService;
 import com.example.Student_Management_System.service.SubjectService;
+import com.example.Student_Management_System.service.UploadFormat;
+import com.example.Student_Management_System.writebehind.ResultWriteBehindQueue;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,13 +32,22 @@ public class TeacherController {
     private final SubjectService subjectService;
     private final AnalyticsService analyticsService;
     private final ExamService examService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final ResultUploadService resultUploadService;
+    private final ResultWriteBehindQueue resultWriteBehindQueue;
 
     public TeacherController(SubjectService subjectService,
             AnalyticsService analyticsService,
-            ExamService examService) {
+            ExamService examService,
+            ScoreDistributionService scoreDistributionService,
+            ResultUploadService resultUploadService,
+            ResultWriteBehindQueue resultWriteBehindQueue) {
         this.subjectService = subjectService;
         this.analyticsService = analyticsService;
         this.examService = examService;
+        this.scoreDistributionService = scoreDistributionService;
+        this.resultUploadService = resultUploadService;
+        this.resultWriteBehindQueue = resultWriteBehindQueue;
     }
 
     // View assigned subjects (filtering by teacherId for now)
@@ -65,15 +86,59 @@ public class TeacherController {
         return examService.getExamStudents(examId);
     }
 
-    // Add or update a single exam result
+    // Score distribution of one exam
+    @GetMapping("/exams/{examId}/distribution")
+    public ScoreDistributionDto getExamDistribution(@PathVariable("examId") Long examId) {
+        return scoreDistributionService.getExamDistribution(examId);
+    }
+
+    // Score distribution across all exams of the teacher's subjects
+    @GetMapping("/{teacherId}/distribution")
+    public ScoreDistributionDto getTeacherDistribution(@PathVariable("teacherId") Long teacherId) {
+        return scoreDistributionService.getTeacherDistribution(teacherId);
+    }
+
+    // Add or update a single exam result; 202 when it was journaled for the
+    // write-behind drainer instead of written immediately
     @PostMapping("/exams/results")
-    public void addOrUpdateResult(@Valid @RequestBody ExamResultDto dto) {
+    public ResponseEntity<Void> addOrUpdateResult(@Valid @RequestBody ExamResultDto dto) {
+        if (resultWriteBehindQueue.isEnabled()) {
+            resultWriteBehindQueue.submit(dto);
+            return ResponseEntity.accepted().build();
+        }
         examService.addOrUpdateResult(dto);
+        return ResponseEntity.ok().build();
     }
 
-    // Add or update bulk exam results
+    // Add or update bulk exam results; reports the outcome of every row. A retry
+    // by the same user with the same Idempotency-Key (and X-Chunk-Sequence)
+    // returns the first outcome instead of writing again; 422 if the body changed
     @PostMapping("/exams/results/bulk")
-    public void addOrUpdateBulkResults(@Valid @RequestBody List<ExamResultDto> dtos) {
-        examService.addOrUpdateBulkResults(dtos);
+    public List<BulkResultOutcomeDto> addOrUpdateBulkResults(@Valid @RequestBody List<ExamResultDto> dtos,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(name = "X-Chunk-Sequence", required = false) Integer chunkSeq,
+            Authentication authentication) {
+        String owner = authentication.getName();
+        try {
+            return examService.addOrUpdateBulkResults(dtos, owner, idempotencyKey, chunkSeq);
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            // Lost the race with an identical in-flight retry, which has now
+            // committed: this call returns its stored outcome
+            return examService.addOrUpdateBulkResults(dtos, owner, idempotencyKey, chunkSeq);
+        }
+    }
+
+    // Stream a marks file (CSV "rollNo,marks" or one JSON object per line); the
+    // format comes from ?format= or the Content-Type
+    @PostMapping(value = "/exams/{examId}/results/upload", consumes = { "text/csv", "text/plain",
+            "application/x-ndjson" })
+    public ResultUploadSummaryDto uploadResults(@PathVariable("examId") Long examId,
+            @RequestParam(name = "format", required = false) String format,
+            HttpServletRequest request) throws IOException {
+        UploadFormat uploadFormat = UploadFormat.resolve(format, request.getContentType());
+        return resultUploadService.upload(examId, request.getReader(), uploadFormat);
     }
 }
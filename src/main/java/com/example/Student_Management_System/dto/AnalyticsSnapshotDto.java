@@ -0,0 +1,44 @@
+package com.example.Student_Management_System.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class AnalyticsSnapshotDto {
+
+    private Instant computedAt;
+    private List<SubjectPerformanceDto> subjects;
+    private List<TeacherPerformanceDto> teachers;
+    private List<StudentPerformanceDto> topStudents;
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public List<SubjectPerformanceDto> getSubjects() {
+        return subjects;
+    }
+
+    public void setSubjects(List<SubjectPerformanceDto> subjects) {
+        this.subjects = subjects;
+    }
+
+    public List<TeacherPerformanceDto> getTeachers() {
+        return teachers;
+    }
+
+    public void setTeachers(List<TeacherPerformanceDto> teachers) {
+        this.teachers = teachers;
+    }
+
+    public List<StudentPerformanceDto> getTopStudents() {
+        return topStudents;
+    }
+
+    public void setTopStudents(List<StudentPerformanceDto> topStudents) {
+        this.topStudents = topStudents;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Student_Management_System.dto;
+
+public class BulkResultOutcomeDto {
+
+    public enum Status {
+        INSERTED, UPDATED, UNCHANGED, CONFLICT, REJECTED
+    }
+
+    private Integer rowIndex; // 0-based position in the submitted list
+    private Long examId;
+    private Long studentId;
+    private String studentRollNo;
+    private Status status;
+    private String message; // reason when rejected or in conflict
+
+    public BulkResultOutcomeDto() {
+    }
+
+    public BulkResultOutcomeDto(Integer rowIndex, ExamResultDto row, Status status, String message) {
+        this.rowIndex = rowIndex;
+        this.examId = row.getExamId();
+        this.studentId = row.getStudentId();
+        this.studentRollNo = row.getStudentRollNo();
+        this.status = status;
+        this.message = message;
+    }
+
+    public Integer getRowIndex() {
+        return rowIndex;
+    }
+
+    public void setRowIndex(Integer rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Long examId) {
+        this.examId = examId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentRollNo() {
+        return studentRollNo;
+    }
+
+    public void setStudentRollNo(String studentRollNo) {
+        this.studentRollNo = studentRollNo;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
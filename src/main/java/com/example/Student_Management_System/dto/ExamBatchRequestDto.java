@@ -0,0 +1,32 @@
+package com.example.Student_Management_System.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Explicit exams, a per-year template, or both
+public class ExamBatchRequestDto {
+
+    @Valid
+    private List<ExamDto> exams = new ArrayList<>();
+
+    @Valid
+    private ExamTemplateDto template;
+
+    public List<ExamDto> getExams() {
+        return exams;
+    }
+
+    public void setExams(List<ExamDto> exams) {
+        this.exams = exams;
+    }
+
+    public ExamTemplateDto getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(ExamTemplateDto template) {
+        this.template = template;
+    }
+}
@@ -38,6 +38,8 @@ public class ExamDto {
     private Integer totalStudents;
     private Integer resultsEntered;
 
+    private Long version; // optimistic lock; send back on update to detect concurrent edits
+
     // Getters and Setters
 
     public Long getId() {
@@ -151,4 +153,12 @@ public class ExamDto {
     public void setResultsEntered(Integer resultsEntered) {
         this.resultsEntered = resultsEntered;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -30,6 +30,8 @@ public class ExamResultDto {
     private String subjectCode;
     private String examType;
 
+    private Long version; // optimistic lock; null skips the concurrent-edit check
+
     // Getters and Setters
 
     public Long getId() {
@@ -127,4 +129,12 @@ public class ExamResultDto {
     public void setExamType(String examType) {
         this.examType = examType;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.Student_Management_System.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// One exam to schedule for every subject of a year, e.g. "CT1 for all year-2
+// subjects"
+public class ExamTemplateDto {
+
+    @NotBlank
+    private String examName;
+
+    @NotBlank
+    private String examType; // CYCLE_TEST, INTERNAL, SEMESTER
+
+    @NotNull
+    @Min(1)
+    private Integer year; // subjects of this year; also the exams' target year
+
+    @NotNull
+    @Min(1)
+    private Integer maxMarks;
+
+    private String examDate; // yyyy-MM-dd format
+
+    private String description;
+
+    public String getExamName() {
+        return examName;
+    }
+
+    public void setExamName(String examName) {
+        this.examName = examName;
+    }
+
+    public String getExamType() {
+        return examType;
+    }
+
+    public void setExamType(String examType) {
+        this.examType = examType;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getMaxMarks() {
+        return maxMarks;
+    }
+
+    public void setMaxMarks(Integer maxMarks) {
+        this.maxMarks = maxMarks;
+    }
+
+    public String getExamDate() {
+        return examDate;
+    }
+
+    public void setExamDate(String examDate) {
+        this.examDate = examDate;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.Student_Management_System.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultUploadSummaryDto {
+
+    private Long examId;
+    private Integer totalRows;
+    private Integer acceptedRows;
+    private Integer rejectedRows;
+    private Integer chunksCommitted;
+    // First rejected rows with reasons; capped so the summary stays small
+    private List<BulkResultOutcomeDto> rejections = new ArrayList<>();
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Long examId) {
+        this.examId = examId;
+    }
+
+    public Integer getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Integer totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public Integer getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public void setAcceptedRows(Integer acceptedRows) {
+        this.acceptedRows = acceptedRows;
+    }
+
+    public Integer getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(Integer rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public Integer getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    public void setChunksCommitted(Integer chunksCommitted) {
+        this.chunksCommitted = chunksCommitted;
+    }
+
+    public List<BulkResultOutcomeDto> getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(List<BulkResultOutcomeDto> rejections) {
+        this.rejections = rejections;
+    }
+}
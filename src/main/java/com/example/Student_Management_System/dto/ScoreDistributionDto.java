@@ -0,0 +1,88 @@
+package com.example.Student_Management_System.dto;
+
+import java.util.List;
+
+public class ScoreDistributionDto {
+
+    private String scope; // EXAM, SUBJECT or TEACHER
+    private Long scopeId;
+    private Long count;
+    private Double mean;
+    private Double p25;
+    private Double median;
+    private Double p75;
+    private Double p90;
+    private List<Long> buckets; // ten 10% bins, 0-10% first
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getP25() {
+        return p25;
+    }
+
+    public void setP25(Double p25) {
+        this.p25 = p25;
+    }
+
+    public Double getMedian() {
+        return median;
+    }
+
+    public void setMedian(Double median) {
+        this.median = median;
+    }
+
+    public Double getP75() {
+        return p75;
+    }
+
+    public void setP75(Double p75) {
+        this.p75 = p75;
+    }
+
+    public Double getP90() {
+        return p90;
+    }
+
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+
+    public List<Long> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<Long> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.Student_Management_System.dto;
+
+public class StudentImportRejectionDto {
+
+    private Integer rowIndex; // 0-based data row, header excluded
+    private String rollNo;
+    private String message;
+
+    public StudentImportRejectionDto() {
+    }
+
+    public StudentImportRejectionDto(Integer rowIndex, String rollNo, String message) {
+        this.rowIndex = rowIndex;
+        this.rollNo = rollNo;
+        this.message = message;
+    }
+
+    public Integer getRowIndex() {
+        return rowIndex;
+    }
+
+    public void setRowIndex(Integer rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public void setRollNo(String rollNo) {
+        this.rollNo = rollNo;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.Student_Management_System.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentImportSummaryDto {
+
+    private String importId;
+    private Boolean completed;
+    private Integer rowsRead;
+    private Integer importedRows;
+    private Integer rejectedRows;
+    private Integer chunksCommitted;
+    // First rejected rows with reasons; capped so the summary stays small
+    private List<StudentImportRejectionDto> rejections = new ArrayList<>();
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public Integer getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(Integer rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public Integer getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Integer importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Integer getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(Integer rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public Integer getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    public void setChunksCommitted(Integer chunksCommitted) {
+        this.chunksCommitted = chunksCommitted;
+    }
+
+    public List<StudentImportRejectionDto> getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(List<StudentImportRejectionDto> rejections) {
+        this.rejections = rejections;
+    }
+}
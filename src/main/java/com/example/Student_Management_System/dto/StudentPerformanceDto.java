@@ -8,6 +8,7 @@ public class StudentPerformanceDto {
     private Double averageMarks;
     private Double passPercentage;
     private Integer year;
+    private Integer rank; // position within the student's year, when requested
 
     public Long getStudentId() {
         return studentId;
@@ -56,4 +57,12 @@ public class StudentPerformanceDto {
     public void setYear(Integer year) {
         this.year = year;
     }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
 }
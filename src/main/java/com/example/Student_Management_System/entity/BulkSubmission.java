@@ -0,0 +1,99 @@
+package com.example.Student_Management_System.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of one completed bulk result submission (or one chunk of it),
+ * keyed by the submitting user and the client's idempotency key, so a retried
+ * request returns the original outcome instead of redoing the work. The
+ * payload hash lets a reused key with a different body be rejected.
+ */
+@Entity
+@Table(name = "bulk_submissions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "owner", "idempotency_key", "chunk_seq" })
+})
+public class BulkSubmission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String owner; // username of the submitter; keys are per user
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "chunk_seq", nullable = false)
+    private Integer chunkSeq; // 0 when the submission is not chunked
+
+    @Column(name = "payload_hash", nullable = false, length = 64)
+    private String payloadHash; // hex SHA-256 of the submitted rows
+
+    @Lob
+    @Column(nullable = false)
+    private String outcomeJson;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Integer getChunkSeq() {
+        return chunkSeq;
+    }
+
+    public void setChunkSeq(Integer chunkSeq) {
+        this.chunkSeq = chunkSeq;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public void setPayloadHash(String payloadHash) {
+        this.payloadHash = payloadHash;
+    }
+
+    public String getOutcomeJson() {
+        return outcomeJson;
+    }
+
+    public void setOutcomeJson(String outcomeJson) {
+        this.outcomeJson = outcomeJson;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -42,6 +42,10 @@ public class Exam {
     @Column
     private String description;
 
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ExamResult> results = new ArrayList<>();
 
@@ -118,4 +122,12 @@ public class Exam {
     public void setResults(List<ExamResult> results) {
         this.results = results;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
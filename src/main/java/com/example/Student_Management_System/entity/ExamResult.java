@@ -23,6 +23,10 @@ public class ExamResult {
     @Column
     private Integer marksObtained; // nullable until teacher enters marks
 
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     // Getters and Setters
 
     public Long getId() {
@@ -56,4 +60,12 @@ public class ExamResult {
     public void setMarksObtained(Integer marksObtained) {
         this.marksObtained = marksObtained;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.Student_Management_System.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * Read-only view of every login: admins by username, teachers and students by
+ * email. {@code precedence} keeps the old lookup order (admin, teacher,
+ * student) should the same name exist in more than one table.
+ *
+ * The view and {@link #FIND_LOGIN} are built from the same branches; the
+ * lookup filters inside each one so every table is probed through its unique
+ * index.
+ */
+@Entity
+@Immutable
+@Subselect(LoginPrincipal.VIEW)
+@Synchronize({ "admins", "teachers", "students" })
+public class LoginPrincipal {
+
+    private static final String ADMINS = "SELECT CONCAT('ADMIN:', a.id) AS principal_key, a.username AS username, "
+            + "a.password AS password, 'ADMIN' AS role, 0 AS precedence, NULL AS teacher_id, NULL AS roll_no, "
+            + "NULL AS display_name FROM admins a";
+    private static final String TEACHERS = "SELECT CONCAT('TEACHER:', t.id), t.email, t.password, 'TEACHER', 1, "
+            + "t.id, NULL, t.name FROM teachers t";
+    private static final String STUDENTS = "SELECT CONCAT('STUDENT:', s.id), s.email, s.password, 'STUDENT', 2, "
+            + "NULL, s.roll_no, s.name FROM students s";
+
+    static final String VIEW = ADMINS + " UNION ALL " + TEACHERS + " UNION ALL " + STUDENTS;
+
+    // Native lookup of one login by :username
+    public static final String FIND_LOGIN = ADMINS + " WHERE a.username = :username UNION ALL "
+            + TEACHERS + " WHERE t.email = :username UNION ALL "
+            + STUDENTS + " WHERE s.email = :username ORDER BY precedence LIMIT 1";
+
+    @Id
+    @Column(name = "principal_key")
+    private String principalKey; // e.g. "TEACHER:12"
+
+    private String username;
+
+    private String password;
+
+    private String role; // ADMIN, TEACHER, STUDENT
+
+    private Integer precedence;
+
+    @Column(name = "teacher_id")
+    private Long teacherId;
+
+    @Column(name = "roll_no")
+    private String rollNo;
+
+    @Column(name = "display_name")
+    private String displayName;
+
+    public String getPrincipalKey() {
+        return principalKey;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Integer getPrecedence() {
+        return precedence;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Student_Management_System.entity;
+
+public enum PerformanceScope {
+    STUDENT,
+    SUBJECT,
+    TEACHER
+}
@@ -0,0 +1,96 @@
+package com.example.Student_Management_System.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Running totals of exam percentages for one student, subject or teacher.
+ * Maintained incrementally whenever marks are written, so analytics reads
+ * do not need to scan exam_results.
+ */
+@Entity
+@Table(name = "performance_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "scope", "scopeId" })
+})
+public class PerformanceStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PerformanceScope scope;
+
+    @Column(nullable = false)
+    private Long scopeId;
+
+    @Column(nullable = false)
+    private Double percentageSum = 0.0;
+
+    @Column(nullable = false)
+    private Long resultCount = 0L;
+
+    @Column(nullable = false)
+    private Long passCount = 0L;
+
+    @Column(nullable = false)
+    private Long distinctionCount = 0L;
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PerformanceScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PerformanceScope scope) {
+        this.scope = scope;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public Double getPercentageSum() {
+        return percentageSum;
+    }
+
+    public void setPercentageSum(Double percentageSum) {
+        this.percentageSum = percentageSum;
+    }
+
+    public Long getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(Long resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    public Long getPassCount() {
+        return passCount;
+    }
+
+    public void setPassCount(Long passCount) {
+        this.passCount = passCount;
+    }
+
+    public Long getDistinctionCount() {
+        return distinctionCount;
+    }
+
+    public void setDistinctionCount(Long distinctionCount) {
+        this.distinctionCount = distinctionCount;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.Student_Management_System.event;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published when a login's password changes, the login stops existing
+ * (deleted user, changed email), or a profile field copied into the login
+ * principal and its tokens (name, roll number) changes. Carries the affected
+ * usernames.
+ */
+public record CredentialsChangedEvent(Set<String> usernames) {
+
+    // Login lookups may match case-insensitively (MySQL collation), so
+    // listeners compare usernames in this form
+    public static String normalize(String username) {
+        return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Set<String> normalizedUsernames() {
+        return usernames.stream().map(CredentialsChangedEvent::normalize).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.Student_Management_System.event;
+
+import java.util.Set;
+
+/**
+ * Published when exams are created, updated or deleted.
+ */
+public record ExamsChangedEvent(Set<Long> examIds) {
+}
@@ -0,0 +1,18 @@
+package com.example.Student_Management_System.event;
+
+import com.example.Student_Management_System.analytics.ResultChange;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published inside the writing transaction whenever marks are added, changed
+ * or removed. Listeners that keep derived views should react after commit.
+ */
+public record ResultsChangedEvent(List<ResultChange> changes) {
+
+    public Set<Long> studentIds() {
+        return changes.stream().map(ResultChange::studentId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.Student_Management_System.event;
+
+import java.util.Set;
+
+/**
+ * Published when students are created, updated or deleted.
+ */
+public record StudentsChangedEvent(Set<Long> studentIds) {
+}
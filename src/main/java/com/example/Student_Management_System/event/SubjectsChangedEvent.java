@@ -0,0 +1,9 @@
+package com.example.Student_Management_System.event;
+
+import java.util.Set;
+
+/**
+ * Published when subjects are created, updated, reassigned or deleted.
+ */
+public record SubjectsChangedEvent(Set<Long> subjectIds) {
+}
@@ -0,0 +1,10 @@
+package com.example.Student_Management_System.event;
+
+import java.util.Set;
+
+/**
+ * Published when teachers are created, updated or deleted, or when a subject
+ * moves between teachers.
+ */
+public record TeachersChangedEvent(Set<Long> teacherIds) {
+}
@@ -0,0 +1,7 @@
+package com.example.Student_Management_System.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Student_Management_System.exception;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
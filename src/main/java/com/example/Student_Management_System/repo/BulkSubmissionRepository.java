@@ -0,0 +1,20 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.BulkSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BulkSubmissionRepository extends JpaRepository<BulkSubmission, Long> {
+
+    Optional<BulkSubmission> findByOwnerAndIdempotencyKeyAndChunkSeq(String owner, String idempotencyKey,
+            Integer chunkSeq);
+
+    @Modifying
+    @Query("DELETE FROM BulkSubmission b WHERE b.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
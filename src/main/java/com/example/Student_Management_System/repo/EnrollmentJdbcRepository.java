@@ -0,0 +1,37 @@
+package com.example.Student_Management_System.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * JDBC batch inserts for enrollments, so syncing a student against a whole
+ * year's subjects is one batch instead of one persist per subject. Runs on the
+ * connection of the surrounding JPA transaction.
+ */
+@Repository
+public class EnrollmentJdbcRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Row(Long studentId, Long subjectId) {
+    }
+
+    public void insertAll(Collection<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO enrollments (student_id, subject_id) VALUES (?, ?)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, row.studentId());
+                    ps.setLong(2, row.subjectId());
+                });
+    }
+}
@@ -4,7 +4,11 @@ import com.example.Student_Management_System.entity.Enrollment;
 import com.example.Student_Management_System.entity.Student;
 import com.example.Student_Management_System.entity.Subject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,28 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findBySubject(Subject subject);
 
     Optional<Enrollment> findByStudentAndSubject(Student student, Subject subject);
+
+    // Enrollments -> students -> this exam's results in one LEFT JOIN
+    @Query("SELECT st.id AS studentId, st.rollNo AS rollNo, st.name AS name, st.email AS email, "
+            + "r.id AS resultId, r.marksObtained AS marksObtained, r.version AS version "
+            + "FROM Enrollment en JOIN en.student st "
+            + "LEFT JOIN ExamResult r ON r.student = st AND r.exam.id = :examId "
+            + "WHERE en.subject.id = :subjectId ORDER BY st.rollNo")
+    List<GradingSheetRow> findGradingSheet(@Param("subjectId") Long subjectId, @Param("examId") Long examId);
+
+    @Query("SELECT en.subject.id AS id, COUNT(en) AS count FROM Enrollment en "
+            + "WHERE en.subject.id IN :subjectIds GROUP BY en.subject.id")
+    List<IdCountView> countBySubjectIds(@Param("subjectIds") Collection<Long> subjectIds);
+
+    @Query("SELECT en.subject.id FROM Enrollment en WHERE en.student.id = :studentId")
+    List<Long> findSubjectIdsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Enrollment en WHERE en.student.id = :studentId AND en.subject.id IN :subjectIds")
+    int deleteByStudentIdAndSubjectIds(@Param("studentId") Long studentId,
+            @Param("subjectIds") Collection<Long> subjectIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Enrollment en WHERE en.student.id = :studentId")
+    int deleteAllByStudentId(@Param("studentId") Long studentId);
 }
@@ -0,0 +1,10 @@
+package com.example.Student_Management_System.repo;
+
+public interface ExamAttributesView {
+
+    Long getId();
+
+    Integer getMaxMarks();
+
+    Long getSubjectId();
+}
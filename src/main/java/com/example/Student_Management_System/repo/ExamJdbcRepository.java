@@ -0,0 +1,72 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.Exam;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for exams, used when a whole term's schedule is created
+ * at once. Runs on the connection of the surrounding JPA transaction.
+ */
+@Repository
+public class ExamJdbcRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = "INSERT INTO exams "
+            + "(exam_name, exam_type, subject_id, target_year, max_marks, exam_date, description, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Inserts the (unsaved) exams and returns their generated ids in the same
+    // order
+    public List<Long> insertAll(List<Exam> exams) {
+        List<Long> ids = new ArrayList<>(exams.size());
+        for (int from = 0; from < exams.size(); from += BATCH_SIZE) {
+            List<Exam> batch = exams.subList(from, Math.min(from + BATCH_SIZE, exams.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Exam exam = batch.get(i);
+                            ps.setString(1, exam.getExamName());
+                            ps.setString(2, exam.getExamType());
+                            ps.setLong(3, exam.getSubject().getId());
+                            ps.setInt(4, exam.getTargetYear());
+                            ps.setInt(5, exam.getMaxMarks());
+                            if (exam.getExamDate() == null) {
+                                ps.setNull(6, Types.DATE);
+                            } else {
+                                ps.setDate(6, Date.valueOf(exam.getExamDate()));
+                            }
+                            ps.setString(7, exam.getDescription());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * Minimal (exam, student, marks, max marks) row for building in-memory
+ * analytics structures.
+ */
+public interface ExamMarkView {
+
+    Long getExamId();
+
+    Long getStudentId();
+
+    Integer getMarksObtained();
+
+    Integer getMaxMarks();
+}
@@ -3,6 +3,9 @@ package com.example.Student_Management_System.repo;
 import com.example.Student_Management_System.entity.Exam;
 import com.example.Student_Management_System.entity.Subject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -15,4 +18,27 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     List<Exam> findByExamType(String examType);
 
     List<Exam> findBySubjectIn(List<Subject> subjects);
+
+    // Subject and teacher fetched in the same query for DTO mapping
+    @Query("SELECT e FROM Exam e JOIN FETCH e.subject s LEFT JOIN FETCH s.assignedTeacher ORDER BY e.id")
+    List<Exam> findAllWithSubject();
+
+    @Query("SELECT e FROM Exam e JOIN FETCH e.subject s JOIN FETCH s.assignedTeacher t "
+            + "WHERE t.id = :teacherId ORDER BY e.id")
+    List<Exam> findByTeacherIdWithSubject(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT e.id FROM Exam e WHERE e.subject.id = :subjectId")
+    List<Long> findIdsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query("SELECT e.id FROM Exam e WHERE e.subject.assignedTeacher.id = :teacherId")
+    List<Long> findIdsByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT e.id AS id, e.maxMarks AS maxMarks, e.subject.id AS subjectId FROM Exam e")
+    List<ExamAttributesView> findAllAttributes();
+
+    // Bypasses cascade/orphanRemoval, which would load every child first;
+    // callers bulk-delete the children beforehand
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Exam e WHERE e.id = :id")
+    int deleteExamById(@Param("id") Long id);
 }
@@ -0,0 +1,237 @@
+package com.example.Student_Management_System.repo;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC writes for exam_results, used where one statement per row through JPA
+ * would dominate the cost. Runs on the connection of the surrounding JPA
+ * transaction.
+ *
+ * Result writers take no locks up front. They read marks and version without
+ * locking, then write with a statement that only applies if nothing changed
+ * in between: an UPDATE conditioned on the version read, or a plain INSERT
+ * that fails on the (exam_id, student_id) unique key if another writer
+ * created the row first. Every write maintains the optimistic-lock version
+ * column the same way JPA does.
+ */
+@Repository
+public class ExamResultJdbcRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = "INSERT INTO exam_results (exam_id, student_id, marks_obtained, version) "
+            + "VALUES (?, ?, ?, 0)";
+    private static final String UPDATE_IF_VERSION = "UPDATE exam_results SET marks_obtained = ?, "
+            + "version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamResultJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A result row to write. {@code version} is the version the caller read;
+     * conditional updates only apply when it still matches.
+     */
+    public record Row(Long id, Long examId, Long studentId, Integer marksObtained, Long version) {
+    }
+
+    /**
+     * Locks the given exam rows until commit, in id order so callers covering
+     * several exams cannot deadlock, and returns the ids that exist. Taken by
+     * exam edits, not by result writers.
+     */
+    public List<Long> lockExams(Collection<Long> examIds) {
+        if (examIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM exams WHERE id IN (" + placeholders(examIds.size())
+                + ") ORDER BY id FOR UPDATE", Long.class, examIds.toArray());
+    }
+
+    // Every result of the exam, locked until commit, so an exam edit re-counts
+    // marks that cannot change underneath it
+    public List<Row> lockResults(Long examId) {
+        return jdbcTemplate.query("SELECT id, exam_id, student_id, marks_obtained, version FROM exam_results "
+                + "WHERE exam_id = ? ORDER BY id FOR UPDATE", (rs, n) -> toRow(rs), examId);
+    }
+
+    // Current (exam, student) row without locking; null when there is none
+    public Row findCurrent(Long examId, Long studentId) {
+        List<Row> rows = jdbcTemplate.query("SELECT id, exam_id, student_id, marks_obtained, version "
+                + "FROM exam_results WHERE exam_id = ? AND student_id = ?", (rs, n) -> toRow(rs), examId, studentId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Existing results for any of the exams and students, without locking
+    public List<Row> findExisting(Collection<Long> examIds, Collection<Long> studentIds) {
+        if (examIds.isEmpty() || studentIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(examIds);
+        args.addAll(studentIds);
+        return jdbcTemplate.query("SELECT id, exam_id, student_id, marks_obtained, version FROM exam_results "
+                + "WHERE exam_id IN (" + placeholders(examIds.size()) + ") AND student_id IN ("
+                + placeholders(studentIds.size()) + ")", (rs, n) -> toRow(rs), args.toArray());
+    }
+
+    // Version by exam id, to check no exam edit committed while marks were
+    // being written against the exam as the writer read it
+    public Map<Long, Long> findExamVersions(Collection<Long> examIds) {
+        if (examIds.isEmpty()) {
+            return Map.of();
+        }
+        return jdbcTemplate.query("SELECT id, version FROM exams WHERE id IN (" + placeholders(examIds.size())
+                + ")", (rs, n) -> Map.entry(rs.getLong(1), rs.getLong(2)), examIds.toArray())
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    // False when another writer created the row first
+    public boolean insert(Row row) {
+        try {
+            jdbcTemplate.update(INSERT, row.examId(), row.studentId(), row.marksObtained());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // False when the row changed (or was deleted) since the caller read it
+    public boolean updateMarksIfVersion(Row row) {
+        return jdbcTemplate.update(UPDATE_IF_VERSION, row.marksObtained(), row.id(), row.version()) == 1;
+    }
+
+    /**
+     * Inserts the rows in batches and returns those another writer created
+     * first. A batch that hits the unique key is rolled back to a savepoint
+     * and replayed one row at a time, so the rows that can be inserted still
+     * are and the duplicates are known exactly.
+     */
+    public List<Row> insertAbsent(List<Row> rows) {
+        List<Row> duplicates = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Row> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            boolean applied = withSavepoint(() -> {
+                try {
+                    jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, row) -> {
+                        ps.setLong(1, row.examId());
+                        ps.setLong(2, row.studentId());
+                        setMarks(ps, 3, row.marksObtained());
+                    });
+                    return true;
+                } catch (DuplicateKeyException e) {
+                    return false;
+                }
+            }, Boolean::booleanValue);
+            if (!applied) {
+                for (Row row : batch) {
+                    if (!insert(row)) {
+                        duplicates.add(row);
+                    }
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Updates marks only where the row still has the version the caller read,
+     * and returns the rows that matched nothing (changed or deleted meanwhile).
+     *
+     * A driver that rewrites batches (MySQL with rewriteBatchedStatements)
+     * reports SUCCESS_NO_INFO instead of per-row counts, which cannot tell an
+     * applied row from a conflict. Such a batch is rolled back to a savepoint
+     * and replayed one statement per row.
+     */
+    public List<Row> updateMarksIfVersion(List<Row> rows) {
+        List<Row> conflicts = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Row> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            List<Row> batchConflicts = withSavepoint(() -> {
+                int[][] counts = jdbcTemplate.batchUpdate(UPDATE_IF_VERSION, batch, batch.size(), (ps, row) -> {
+                    setMarks(ps, 1, row.marksObtained());
+                    ps.setLong(2, row.id());
+                    ps.setLong(3, row.version());
+                });
+                List<Row> matchedNothing = new ArrayList<>();
+                int index = 0;
+                for (int[] counted : counts) {
+                    for (int count : counted) {
+                        if (count == Statement.SUCCESS_NO_INFO) {
+                            return null;
+                        }
+                        if (count == 0) {
+                            matchedNothing.add(batch.get(index));
+                        }
+                        index++;
+                    }
+                }
+                return matchedNothing;
+            }, Objects::nonNull);
+            if (batchConflicts == null) {
+                for (Row row : batch) {
+                    if (!updateMarksIfVersion(row)) {
+                        conflicts.add(row);
+                    }
+                }
+            } else {
+                conflicts.addAll(batchConflicts);
+            }
+        }
+        return conflicts;
+    }
+
+    // Runs the work and keeps its writes when keep accepts the result;
+    // otherwise rolls them back to a savepoint taken before it started
+    private <T> T withSavepoint(Supplier<T> work, Predicate<T> keep) {
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        T result = work.get();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!keep.test(result)) {
+                connection.rollback(savepoint);
+            } else {
+                connection.releaseSavepoint(savepoint);
+            }
+            return null;
+        });
+        return result;
+    }
+
+    private static Row toRow(ResultSet rs) throws SQLException {
+        return new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getObject(4, Integer.class), rs.getLong(5));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void setMarks(PreparedStatement ps, int index, Integer marks) throws SQLException {
+        if (marks == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, marks);
+        }
+    }
+}
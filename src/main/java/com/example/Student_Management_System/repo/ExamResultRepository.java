@@ -4,9 +4,14 @@ import com.example.Student_Management_System.entity.Exam;
 import com.example.Student_Management_System.entity.ExamResult;
 import com.example.Student_Management_System.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ExamResultRepository extends JpaRepository<ExamResult, Long> {
 
@@ -17,4 +22,71 @@ public interface ExamResultRepository extends JpaRepository<ExamResult, Long> {
     Optional<ExamResult> findByExamAndStudent(Exam exam, Student student);
 
     List<ExamResult> findByExamIn(List<Exam> exams);
+
+    // Results entered per exam, counting only students enrolled in the exam's
+    // subject
+    @Query("SELECT r.exam.id AS id, COUNT(r) AS count FROM ExamResult r "
+            + "WHERE r.exam.id IN :examIds AND EXISTS (SELECT en.id FROM Enrollment en "
+            + "WHERE en.student = r.student AND en.subject = r.exam.subject) "
+            + "GROUP BY r.exam.id")
+    List<IdCountView> countEnrolledResultsByExamIds(@Param("examIds") Collection<Long> examIds);
+
+    // One row per subject (including subjects with no marks yet), aggregated in the
+    // database
+    @Query("SELECT s.id AS groupId, s.subjectName AS groupName, "
+            + "COALESCE(SUM(r.marksObtained * 100.0 / e.maxMarks), 0.0) AS percentageSum, "
+            + "COUNT(r.id) AS resultCount, "
+            + "COALESCE(SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 40 THEN 1 ELSE 0 END), 0) AS passCount, "
+            + "COALESCE(SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 75 THEN 1 ELSE 0 END), 0) AS distinctionCount "
+            + "FROM Subject s LEFT JOIN s.exams e LEFT JOIN e.results r ON r.marksObtained IS NOT NULL "
+            + "GROUP BY s.id, s.subjectName ORDER BY s.id")
+    List<PerformanceSummary> summarizeBySubject();
+
+    @Query("SELECT st.id AS groupId, st.name AS groupName, "
+            + "SUM(r.marksObtained * 100.0 / e.maxMarks) AS percentageSum, "
+            + "COUNT(r.id) AS resultCount, "
+            + "SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 40 THEN 1 ELSE 0 END) AS passCount, "
+            + "SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 75 THEN 1 ELSE 0 END) AS distinctionCount "
+            + "FROM ExamResult r JOIN r.exam e JOIN r.student st WHERE r.marksObtained IS NOT NULL "
+            + "GROUP BY st.id, st.name")
+    List<PerformanceSummary> summarizeByStudent();
+
+    @Query("SELECT t.id AS groupId, t.name AS groupName, "
+            + "SUM(r.marksObtained * 100.0 / e.maxMarks) AS percentageSum, "
+            + "COUNT(r.id) AS resultCount, "
+            + "SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 40 THEN 1 ELSE 0 END) AS passCount, "
+            + "SUM(CASE WHEN r.marksObtained * 100.0 / e.maxMarks >= 75 THEN 1 ELSE 0 END) AS distinctionCount "
+            + "FROM ExamResult r JOIN r.exam e JOIN e.subject s JOIN s.assignedTeacher t "
+            + "WHERE r.marksObtained IS NOT NULL GROUP BY t.id, t.name")
+    List<PerformanceSummary> summarizeByTeacher();
+
+    // Streamed (requires an open transaction) so the full table is never held in
+    // memory
+    @Query("SELECT e.id AS examId, r.student.id AS studentId, r.marksObtained AS marksObtained, "
+            + "e.maxMarks AS maxMarks "
+            + "FROM ExamResult r JOIN r.exam e WHERE r.marksObtained IS NOT NULL")
+    Stream<ExamMarkView> streamExamMarks();
+
+    // Marks about to be removed by a bulk delete, for the aggregate deltas
+    @Query("SELECT e.id AS examId, r.student.id AS studentId, s.id AS subjectId, t.id AS teacherId, "
+            + "e.maxMarks AS maxMarks, r.marksObtained AS marksObtained "
+            + "FROM ExamResult r JOIN r.exam e JOIN e.subject s LEFT JOIN s.assignedTeacher t "
+            + "WHERE e.id = :examId AND r.marksObtained IS NOT NULL")
+    List<ResultRemovalView> findRemovalsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT e.id AS examId, r.student.id AS studentId, s.id AS subjectId, t.id AS teacherId, "
+            + "e.maxMarks AS maxMarks, r.marksObtained AS marksObtained "
+            + "FROM ExamResult r JOIN r.exam e JOIN e.subject s LEFT JOIN s.assignedTeacher t "
+            + "WHERE r.student.id = :studentId AND r.marksObtained IS NOT NULL")
+    List<ResultRemovalView> findRemovalsByStudentId(@Param("studentId") Long studentId);
+
+    // Single-statement deletes; the persistence context is cleared so no stale
+    // ExamResult survives in an entity's results collection
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ExamResult r WHERE r.exam.id = :examId")
+    int deleteAllByExamId(@Param("examId") Long examId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ExamResult r WHERE r.student.id = :studentId")
+    int deleteAllByStudentId(@Param("studentId") Long studentId);
 }
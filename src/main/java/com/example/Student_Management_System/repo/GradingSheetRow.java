@@ -0,0 +1,21 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * One enrolled student of an exam's subject with their result, if entered.
+ */
+public interface GradingSheetRow {
+
+    Long getStudentId();
+
+    String getRollNo();
+
+    String getName();
+
+    String getEmail();
+
+    Long getResultId(); // null when no result row exists
+
+    Integer getMarksObtained();
+
+    Long getVersion();
+}
@@ -0,0 +1,11 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * A grouped COUNT keyed by entity id.
+ */
+public interface IdCountView {
+
+    Long getId();
+
+    Long getCount();
+}
@@ -0,0 +1,17 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.LoginPrincipal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface LoginPrincipalRepository extends JpaRepository<LoginPrincipal, String> {
+
+    // One indexed probe per table. The filter is repeated in every branch
+    // because a predicate on the @Subselect view is not reliably pushed into
+    // the union, which would scan all three tables on every login
+    @Query(value = LoginPrincipal.FIND_LOGIN, nativeQuery = true)
+    Optional<LoginPrincipal> findLogin(@Param("username") String username);
+}
@@ -0,0 +1,28 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.PerformanceScope;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC insert of the first performance_stats row for a scope. Kept out
+ * of JPA so that losing the insert race to a concurrent writer surfaces as a
+ * catchable DuplicateKeyException instead of marking the surrounding
+ * transaction rollback-only.
+ */
+@Repository
+public class PerformanceStatJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PerformanceStatJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(PerformanceScope scope, Long scopeId, double percentageSum, long resultCount,
+            long passCount, long distinctionCount) {
+        jdbcTemplate.update("INSERT INTO performance_stats (scope, scope_id, percentage_sum, result_count, "
+                + "pass_count, distinction_count) VALUES (?, ?, ?, ?, ?, ?)",
+                scope.name(), scopeId, percentageSum, resultCount, passCount, distinctionCount);
+    }
+}
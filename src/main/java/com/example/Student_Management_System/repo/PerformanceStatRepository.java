@@ -0,0 +1,106 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.entity.PerformanceStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PerformanceStatRepository extends JpaRepository<PerformanceStat, Long> {
+
+    Optional<PerformanceStat> findByScopeAndScopeId(PerformanceScope scope, Long scopeId);
+
+    // Atomic in-place increment so concurrent mark entry cannot lose updates;
+    // matches nothing until the row's first insert has committed
+    @Modifying
+    @Query("UPDATE PerformanceStat s SET s.percentageSum = s.percentageSum + :percentageSum, "
+            + "s.resultCount = s.resultCount + :resultCount, "
+            + "s.passCount = s.passCount + :passCount, "
+            + "s.distinctionCount = s.distinctionCount + :distinctionCount "
+            + "WHERE s.scope = :scope AND s.scopeId = :scopeId")
+    int applyDelta(@Param("scope") PerformanceScope scope,
+            @Param("scopeId") Long scopeId,
+            @Param("percentageSum") double percentageSum,
+            @Param("resultCount") long resultCount,
+            @Param("passCount") long passCount,
+            @Param("distinctionCount") long distinctionCount);
+
+    @Modifying
+    @Query("DELETE FROM PerformanceStat s WHERE s.scope = :scope AND s.scopeId = :scopeId")
+    int deleteByScopeAndScopeId(@Param("scope") PerformanceScope scope, @Param("scopeId") Long scopeId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM PerformanceStat s")
+    int deleteAllStats();
+
+    @Query("SELECT s.id AS groupId, s.subjectName AS groupName, "
+            + "COALESCE(ps.percentageSum, 0.0) AS percentageSum, COALESCE(ps.resultCount, 0) AS resultCount, "
+            + "COALESCE(ps.passCount, 0) AS passCount, COALESCE(ps.distinctionCount, 0) AS distinctionCount "
+            + "FROM Subject s LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = s.id "
+            + "ORDER BY s.id")
+    List<PerformanceSummary> findSubjectSummaries(@Param("scope") PerformanceScope scope);
+
+    @Query("SELECT t.id AS groupId, t.name AS groupName, "
+            + "COALESCE(ps.percentageSum, 0.0) AS percentageSum, COALESCE(ps.resultCount, 0) AS resultCount, "
+            + "COALESCE(ps.passCount, 0) AS passCount, COALESCE(ps.distinctionCount, 0) AS distinctionCount "
+            + "FROM Teacher t LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = t.id "
+            + "ORDER BY t.id")
+    List<PerformanceSummary> findTeacherSummaries(@Param("scope") PerformanceScope scope);
+
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "COALESCE(ps.percentageSum, 0.0) AS percentageSum, COALESCE(ps.resultCount, 0) AS resultCount, "
+            + "COALESCE(ps.passCount, 0) AS passCount, COALESCE(ps.distinctionCount, 0) AS distinctionCount "
+            + "FROM Student st LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = st.id "
+            + "ORDER BY st.id")
+    List<StudentPerformanceSummary> findStudentSummaries(@Param("scope") PerformanceScope scope);
+
+    // Top-K students by average percentage; pass PageRequest.of(0, k) to push the
+    // LIMIT into SQL
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "ps.percentageSum AS percentageSum, ps.resultCount AS resultCount, "
+            + "ps.passCount AS passCount, ps.distinctionCount AS distinctionCount "
+            + "FROM PerformanceStat ps JOIN Student st ON st.id = ps.scopeId "
+            + "WHERE ps.scope = :scope AND ps.resultCount > 0 "
+            + "ORDER BY ps.percentageSum / ps.resultCount DESC, st.id")
+    List<StudentPerformanceSummary> findStudentLeaderboard(@Param("scope") PerformanceScope scope,
+            Pageable pageable);
+
+    // Students with no marks yet, used to fill the leaderboard when fewer than k
+    // students have results
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "0.0 AS percentageSum, 0L AS resultCount, 0L AS passCount, 0L AS distinctionCount "
+            + "FROM Student st LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = st.id "
+            + "WHERE ps.id IS NULL OR ps.resultCount = 0 ORDER BY st.id")
+    List<StudentPerformanceSummary> findStudentsWithoutResults(@Param("scope") PerformanceScope scope,
+            Pageable pageable);
+
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "COALESCE(ps.percentageSum, 0.0) AS percentageSum, COALESCE(ps.resultCount, 0) AS resultCount, "
+            + "COALESCE(ps.passCount, 0) AS passCount, COALESCE(ps.distinctionCount, 0) AS distinctionCount "
+            + "FROM Student st LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = st.id "
+            + "WHERE st.id IN :studentIds")
+    List<StudentPerformanceSummary> findStudentSummariesByIds(@Param("scope") PerformanceScope scope,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "ps.percentageSum AS percentageSum, ps.resultCount AS resultCount, "
+            + "ps.passCount AS passCount, ps.distinctionCount AS distinctionCount "
+            + "FROM PerformanceStat ps JOIN Student st ON st.id = ps.scopeId "
+            + "WHERE ps.scope = :scope AND ps.resultCount > 0 AND st.year = :year "
+            + "ORDER BY ps.percentageSum / ps.resultCount DESC, st.id")
+    List<StudentPerformanceSummary> findStudentLeaderboardByYear(@Param("scope") PerformanceScope scope,
+            @Param("year") Integer year, Pageable pageable);
+
+    @Query("SELECT st.id AS groupId, st.name AS groupName, st.rollNo AS rollNo, st.year AS year, "
+            + "0.0 AS percentageSum, 0L AS resultCount, 0L AS passCount, 0L AS distinctionCount "
+            + "FROM Student st LEFT JOIN PerformanceStat ps ON ps.scope = :scope AND ps.scopeId = st.id "
+            + "WHERE st.year = :year AND (ps.id IS NULL OR ps.resultCount = 0) ORDER BY st.id")
+    List<StudentPerformanceSummary> findStudentsWithoutResultsByYear(@Param("scope") PerformanceScope scope,
+            @Param("year") Integer year, Pageable pageable);
+}
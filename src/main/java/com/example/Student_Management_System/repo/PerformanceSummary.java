@@ -0,0 +1,20 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * Projection for grouped performance aggregation queries.
+ * Percentages are computed per result as marksObtained * 100 / maxMarks.
+ */
+public interface PerformanceSummary {
+
+    Long getGroupId();
+
+    String getGroupName();
+
+    Double getPercentageSum();
+
+    Long getResultCount();
+
+    Long getPassCount();
+
+    Long getDistinctionCount();
+}
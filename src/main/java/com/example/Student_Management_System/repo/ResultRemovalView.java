@@ -0,0 +1,20 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * Everything needed to take a stored mark out of the aggregates without
+ * loading the result, exam or subject entities.
+ */
+public interface ResultRemovalView {
+
+    Long getExamId();
+
+    Long getStudentId();
+
+    Long getSubjectId();
+
+    Long getTeacherId();
+
+    Integer getMaxMarks();
+
+    Integer getMarksObtained();
+}
@@ -0,0 +1,64 @@
+package com.example.Student_Management_System.repo;
+
+import com.example.Student_Management_System.entity.Student;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for students, used by bulk imports. Passwords must
+ * already be encoded. Runs on the connection of the surrounding transaction.
+ */
+@Repository
+public class StudentJdbcRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = "INSERT INTO students (roll_no, name, email, department, year, password) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Inserts the (unsaved) students and returns their generated ids in the
+    // same order
+    public List<Long> insertAll(List<Student> students) {
+        List<Long> ids = new ArrayList<>(students.size());
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> batch = students.subList(from, Math.min(from + BATCH_SIZE, students.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Student student = batch.get(i);
+                            ps.setString(1, student.getRollNo());
+                            ps.setString(2, student.getName());
+                            ps.setString(3, student.getEmail());
+                            ps.setString(4, student.getDepartment());
+                            ps.setInt(5, student.getYear());
+                            ps.setString(6, student.getPassword());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
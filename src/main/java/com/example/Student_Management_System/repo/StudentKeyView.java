@@ -0,0 +1,8 @@
+package com.example.Student_Management_System.repo;
+
+public interface StudentKeyView {
+
+    Long getId();
+
+    String getRollNo();
+}
@@ -0,0 +1,12 @@
+package com.example.Student_Management_System.repo;
+
+/**
+ * Per-student performance projection; groupId is the student id and
+ * groupName the student name.
+ */
+public interface StudentPerformanceSummary extends PerformanceSummary {
+
+    String getRollNo();
+
+    Integer getYear();
+}
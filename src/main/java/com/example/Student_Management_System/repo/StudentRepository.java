@@ -2,11 +2,39 @@ package com.example.Student_Management_System.repo;
 
 import com.example.Student_Management_System.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
 
     Optional<Student> findByRollNo(String rollNo);
+
+    @Query("SELECT s.id FROM Student s WHERE s.rollNo = :rollNo")
+    Optional<Long> findIdByRollNo(@Param("rollNo") String rollNo);
+
+    @Query("SELECT s.id AS id, s.rollNo AS rollNo FROM Student s WHERE s.rollNo IN :rollNos OR s.id IN :ids")
+    List<StudentKeyView> findKeysByRollNoInOrIdIn(@Param("rollNos") Collection<String> rollNos,
+            @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.email FROM Student s WHERE s.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    // Uniqueness pre-checks for bulk imports, one query per chunk
+    @Query("SELECT s.rollNo FROM Student s WHERE s.rollNo IN :rollNos")
+    List<String> findExistingRollNos(@Param("rollNos") Collection<String> rollNos);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Bypasses cascade/orphanRemoval, which would load every child first;
+    // callers bulk-delete the children beforehand
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Student s WHERE s.id = :id")
+    int deleteStudentById(@Param("id") Long id);
 }
@@ -0,0 +1,6 @@
+package com.example.Student_Management_System.repo;
+
+public interface SubjectOwnerView extends IdNameView {
+
+    Long getTeacherId(); // null when unassigned
+}
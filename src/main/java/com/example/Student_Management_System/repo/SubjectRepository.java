@@ -2,6 +2,9 @@ package com.example.Student_Management_System.repo;
 
 import com.example.Student_Management_System.entity.Subject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +12,25 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     Optional<Subject> findBySubjectCode(String subjectCode);
 
     java.util.List<Subject> findByYear(Integer year);
+
+    @Query("SELECT s.id AS id, s.subjectName AS name, t.id AS teacherId "
+            + "FROM Subject s LEFT JOIN s.assignedTeacher t ORDER BY s.id")
+    java.util.List<SubjectOwnerView> findAllOwners();
+
+    @Query("SELECT s.id FROM Subject s WHERE s.year = :year")
+    java.util.List<Long> findIdsByYear(@Param("year") Integer year);
+
+    @Query("SELECT s.id FROM Subject s WHERE s.id IN :ids")
+    java.util.List<Long> findExistingIds(@Param("ids") java.util.Collection<Long> ids);
+
+    // Subjects with their teacher in one query, for batch exam scheduling
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.assignedTeacher WHERE s.id IN :ids")
+    java.util.List<Subject> findAllByIdWithTeacher(@Param("ids") java.util.Collection<Long> ids);
+
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.assignedTeacher WHERE s.year = :year ORDER BY s.id")
+    java.util.List<Subject> findByYearWithTeacher(@Param("year") Integer year);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subject s SET s.assignedTeacher = null WHERE s.assignedTeacher.id = :teacherId")
+    int unassignTeacher(@Param("teacherId") Long teacherId);
 }
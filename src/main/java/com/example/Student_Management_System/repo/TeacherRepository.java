@@ -2,9 +2,23 @@ package com.example.Student_Management_System.repo;
 
 import com.example.Student_Management_System.entity.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
+
+    @Query("SELECT t.id AS id, t.name AS name FROM Teacher t ORDER BY t.id")
+    List<IdNameView> findAllNames();
+
+    @Query("SELECT t.email FROM Teacher t WHERE t.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Teacher t WHERE t.id = :id")
+    int deleteTeacherById(@Param("id") Long id);
 }
@@ -13,4 +13,7 @@ public interface AnalyticsService {
     List<StudentPerformanceDto> getTopPerformingStudents(int limit);
 
     List<StudentPerformanceDto> getTopStudentsByYear(int year, int limit);
+
+    // Student's average, pass percentage and rank within their year
+    StudentPerformanceDto getStudentYearRank(String rollNo);
 }
@@ -0,0 +1,13 @@
+package com.example.Student_Management_System.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface EnrollmentSyncService {
+
+    // Makes the student's enrollments exactly the given subjects and returns them
+    Set<Long> sync(Long studentId, Collection<Long> subjectIds);
+
+    // Enrolls the student in every subject of the year, and nothing else
+    Set<Long> syncToYear(Long studentId, Integer year);
+}
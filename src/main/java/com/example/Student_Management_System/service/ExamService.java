@@ -1,5 +1,7 @@
 package com.example.Student_Management_System.service;
 
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.ExamBatchRequestDto;
 import com.example.Student_Management_System.dto.ExamDto;
 import com.example.Student_Management_System.dto.ExamResultDto;
 
@@ -10,6 +12,9 @@ public interface ExamService {
     // Admin operations
     ExamDto createExam(ExamDto dto);
 
+    // Batch scheduling; the returned DTOs carry no enrollment/result counts
+    List<ExamDto> createExams(ExamBatchRequestDto request);
+
     ExamDto updateExam(Long id, ExamDto dto);
 
     void deleteExam(Long id);
@@ -25,7 +30,14 @@ public interface ExamService {
 
     void addOrUpdateResult(ExamResultDto dto);
 
-    void addOrUpdateBulkResults(List<ExamResultDto> dtos);
+    // One outcome per submitted row, in submission order
+    List<BulkResultOutcomeDto> addOrUpdateBulkResults(List<ExamResultDto> dtos);
+
+    // Same, but a repeated (owner, idempotencyKey, chunkSeq) with the same rows
+    // returns the stored outcome without touching results again; different rows
+    // under a used key are rejected
+    List<BulkResultOutcomeDto> addOrUpdateBulkResults(List<ExamResultDto> dtos, String owner,
+            String idempotencyKey, Integer chunkSeq);
 
     // Student operations
     List<ExamResultDto> getStudentExamResults(String rollNo);
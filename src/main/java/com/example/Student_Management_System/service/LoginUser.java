@@ -0,0 +1,39 @@
+package com.example.Student_Management_System.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user with the profile fields resolved at login, so callers
+ * such as {@code /api/me} need no further lookup. Changing any of these fields
+ * publishes a {@code CredentialsChangedEvent}, so a cached copy or a token
+ * built from it never outlives the change.
+ */
+public class LoginUser extends User {
+
+    private final Long teacherId;
+    private final String rollNo;
+    private final String displayName;
+
+    public LoginUser(String username, String password, Collection<? extends GrantedAuthority> authorities,
+            Long teacherId, String rollNo, String displayName) {
+        super(username, password, authorities);
+        this.teacherId = teacherId;
+        this.rollNo = rollNo;
+        this.displayName = displayName;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.analytics.ResultChange;
+import com.example.Student_Management_System.entity.PerformanceScope;
+
+import java.util.Collection;
+
+public interface PerformanceStatService {
+
+    // Apply mark changes to the student, subject and teacher aggregates (same
+    // transaction as the write)
+    void applyChanges(Collection<ResultChange> changes);
+
+    // Move a subject's totals when it is assigned to a different teacher
+    void reassignSubject(Long subjectId, Long oldTeacherId, Long newTeacherId);
+
+    // Drop the aggregate row of a deleted student, subject or teacher
+    void deleteStats(PerformanceScope scope, Long scopeId);
+
+    // Recompute every aggregate from exam_results (startup and structural changes)
+    void rebuildAll();
+}
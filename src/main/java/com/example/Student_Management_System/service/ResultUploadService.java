@@ -0,0 +1,12 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.dto.ResultUploadSummaryDto;
+
+import java.io.Reader;
+
+public interface ResultUploadService {
+
+    // Reads the upload line by line and commits it in chunks; rows that fail
+    // parsing or validation are counted as rejected
+    ResultUploadSummaryDto upload(Long examId, Reader source, UploadFormat format);
+}
@@ -0,0 +1,14 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.dto.ScoreDistributionDto;
+
+public interface ScoreDistributionService {
+
+    ScoreDistributionDto getExamDistribution(Long examId);
+
+    // All exams of the subject merged into one distribution
+    ScoreDistributionDto getSubjectDistribution(Long subjectId);
+
+    // All exams of the teacher's subjects merged into one distribution
+    ScoreDistributionDto getTeacherDistribution(Long teacherId);
+}
@@ -0,0 +1,15 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.dto.StudentImportSummaryDto;
+
+import java.io.Reader;
+
+public interface StudentImportService {
+
+    // Reads the upload line by line and commits it in chunks; rows that fail
+    // parsing, validation or uniqueness checks are counted as rejected
+    StudentImportSummaryDto importStudents(String importId, Reader source, UploadFormat format);
+
+    // Progress of a running (or recently finished) import
+    StudentImportSummaryDto getProgress(String importId);
+}
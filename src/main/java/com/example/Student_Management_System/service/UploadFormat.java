@@ -0,0 +1,23 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.exception.BadRequestException;
+
+import java.util.Locale;
+
+// Line formats accepted by the streaming uploads (student import, marks upload)
+public enum UploadFormat {
+    CSV, NDJSON;
+
+    // An explicit ?format= wins; otherwise NDJSON when the Content-Type says so,
+    // else CSV
+    public static UploadFormat resolve(String format, String contentType) {
+        if (format != null) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported upload format: " + format);
+            }
+        }
+        return contentType != null && contentType.contains("ndjson") ? NDJSON : CSV;
+    }
+}
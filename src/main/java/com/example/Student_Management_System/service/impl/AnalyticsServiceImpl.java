@@ -1,17 +1,24 @@
 package com.example.Student_Management_System.service.impl;
 
+import com.example.Student_Management_System.analytics.BoundedTopK;
+import com.example.Student_Management_System.analytics.ColumnarResultsSnapshot;
+import com.example.Student_Management_System.analytics.PerformanceAccumulator;
+import com.example.Student_Management_System.analytics.YearLeaderboard;
 import com.example.Student_Management_System.dto.*;
 import com.example.Student_Management_System.entity.Student;
-import com.example.Student_Management_System.entity.Subject;
-import com.example.Student_Management_System.entity.Teacher;
-import com.example.Student_Management_System.entity.Exam;
-import com.example.Student_Management_System.entity.ExamResult;
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
 import com.example.Student_Management_System.repo.StudentRepository;
 import com.example.Student_Management_System.repo.SubjectRepository;
 import com.example.Student_Management_System.repo.TeacherRepository;
 import com.example.Student_Management_System.repo.ExamRepository;
 import com.example.Student_Management_System.repo.ExamResultRepository;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.PerformanceSummary;
+import com.example.Student_Management_System.repo.StudentPerformanceSummary;
 import com.example.Student_Management_System.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,97 +29,77 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class AnalyticsServiceImpl implements AnalyticsService {
 
+    // Best average first; ties broken by student id for a stable ranking
+    private static final Comparator<StudentPerformanceDto> LEADERBOARD_ORDER = Comparator
+            .comparingDouble(StudentPerformanceDto::getAverageMarks).reversed()
+            .thenComparing(StudentPerformanceDto::getStudentId);
+
     private final SubjectRepository subjectRepository;
     private final TeacherRepository teacherRepository;
     private final StudentRepository studentRepository;
     private final ExamRepository examRepository;
     private final ExamResultRepository examResultRepository;
+    private final PerformanceStatRepository performanceStatRepository;
+    private final YearLeaderboard yearLeaderboard;
+    private final ColumnarResultsSnapshot columnarSnapshot;
+    private final boolean inMemoryLeaderboard;
 
     public AnalyticsServiceImpl(SubjectRepository subjectRepository,
             TeacherRepository teacherRepository,
             StudentRepository studentRepository,
             ExamRepository examRepository,
-            ExamResultRepository examResultRepository) {
+            ExamResultRepository examResultRepository,
+            PerformanceStatRepository performanceStatRepository,
+            YearLeaderboard yearLeaderboard,
+            ColumnarResultsSnapshot columnarSnapshot,
+            @Value("${analytics.leaderboard.in-memory:false}") boolean inMemoryLeaderboard) {
         this.subjectRepository = subjectRepository;
         this.teacherRepository = teacherRepository;
         this.studentRepository = studentRepository;
         this.examRepository = examRepository;
         this.examResultRepository = examResultRepository;
+        this.performanceStatRepository = performanceStatRepository;
+        this.yearLeaderboard = yearLeaderboard;
+        this.columnarSnapshot = columnarSnapshot;
+        this.inMemoryLeaderboard = inMemoryLeaderboard;
     }
 
     @Override
     public List<SubjectPerformanceDto> getSubjectWiseAverages() {
-        List<Subject> subjects = subjectRepository.findAll();
-        List<SubjectPerformanceDto> result = new ArrayList<>();
-
-        for (Subject subject : subjects) {
-            List<com.example.Student_Management_System.entity.Exam> exams = examRepository.findBySubject(subject);
-            List<com.example.Student_Management_System.entity.ExamResult> results = examResultRepository
-                    .findByExamIn(exams);
-
-            List<Double> percentages = results.stream()
-                    .filter(r -> r.getMarksObtained() != null)
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
-            SubjectPerformanceDto dto = new SubjectPerformanceDto();
-            dto.setSubjectId(subject.getId());
-            dto.setSubjectName(subject.getSubjectName());
-
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                long distinction = percentages.stream().filter(p -> p >= 75).count();
-
-                dto.setAverageMarks(avgPct); // Using average percentage as "Average Marks"
-                dto.setPassPercentage(pass * 100.0 / percentages.size());
-                dto.setDistinctionCount(distinction);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-                dto.setDistinctionCount(0L);
-            }
-            result.add(dto);
+        // Reads the columnar snapshot when enabled, otherwise the maintained
+        // per-subject aggregates; no ExamResult entities are loaded
+        List<PerformanceSummary> summaries;
+        if (columnarSnapshot.isReady()) {
+            summaries = columnarSnapshot.subjectSummaries();
+        } else {
+            summaries = performanceStatRepository.findSubjectSummaries(PerformanceScope.SUBJECT);
         }
-        return result;
+
+        return summaries.stream()
+                .map(this::mapToSubjectPerformance)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<TeacherPerformanceDto> getTeacherWisePerformance() {
-        List<Teacher> teachers = teacherRepository.findAll();
         List<TeacherPerformanceDto> result = new ArrayList<>();
+        List<PerformanceSummary> summaries;
+        if (columnarSnapshot.isReady()) {
+            summaries = columnarSnapshot.teacherSummaries();
+        } else {
+            summaries = performanceStatRepository.findTeacherSummaries(PerformanceScope.TEACHER);
+        }
 
-        for (Teacher teacher : teachers) {
-            List<Subject> subjects = teacher.getSubjects();
-            List<Exam> exams = examRepository.findBySubjectIn(subjects);
-            List<ExamResult> results = examResultRepository.findByExamIn(exams);
-
-            List<Double> percentages = results.stream()
-                    .filter(r -> r.getMarksObtained() != null)
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
+        for (PerformanceSummary summary : summaries) {
             TeacherPerformanceDto dto = new TeacherPerformanceDto();
-            dto.setTeacherId(teacher.getId());
-            dto.setTeacherName(teacher.getName());
-
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                long distinction = percentages.stream().filter(p -> p >= 75).count();
-                double passPct = pass * 100.0 / percentages.size();
-
-                dto.setAverageMarks(avgPct);
-                dto.setPassPercentage(passPct);
-                dto.setDistinctionCount(distinction);
-                dto.setPerformanceScore(
-                        avgPct * 0.6 + passPct * 0.3 + (distinction * 100.0 / percentages.size()) * 0.1);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-                dto.setDistinctionCount(0L);
-                dto.setPerformanceScore(0.0);
-            }
+            dto.setTeacherId(summary.getGroupId());
+            dto.setTeacherName(summary.getGroupName());
+
+            PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+            dto.setAverageMarks(stats.average());
+            dto.setPassPercentage(stats.passPercentage());
+            dto.setDistinctionCount(stats.distinctionCount());
+            dto.setPerformanceScore(stats.performanceScore());
             result.add(dto);
         }
 
@@ -121,77 +108,93 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public List<StudentPerformanceDto> getTopPerformingStudents(int limit) {
-        List<Student> students = studentRepository.findAll();
-        List<StudentPerformanceDto> perf = students.stream().map(student -> {
-            List<com.example.Student_Management_System.entity.ExamResult> results = examResultRepository
-                    .findByStudent(student);
-
-            List<Double> percentages = results.stream()
-                    .filter(r -> r.getMarksObtained() != null)
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
-            StudentPerformanceDto dto = new StudentPerformanceDto();
-            dto.setStudentId(student.getId());
-            dto.setStudentRollNo(student.getRollNo());
-            dto.setStudentName(student.getName());
-            dto.setYear(student.getYear());
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                double passPct = pass * 100.0 / percentages.size();
-                dto.setAverageMarks(avgPct);
-                dto.setPassPercentage(passPct);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-            }
-            return dto;
-        }).collect(Collectors.toList());
-
-        return perf.stream()
-                .sorted(Comparator.comparingDouble(StudentPerformanceDto::getAverageMarks).reversed())
-                .limit(limit)
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (inMemoryLeaderboard) {
+            return getTopPerformingStudentsInMemory(limit);
+        }
+
+        // ORDER BY average ... LIMIT in the database: reads about `limit` rows
+        List<StudentPerformanceSummary> top = new ArrayList<>(
+                performanceStatRepository.findStudentLeaderboard(PerformanceScope.STUDENT, PageRequest.of(0, limit)));
+        if (top.size() < limit) {
+            top.addAll(performanceStatRepository.findStudentsWithoutResults(PerformanceScope.STUDENT,
+                    PageRequest.of(0, limit - top.size())));
+        }
+
+        return top.stream()
+                .map(this::mapToStudentPerformance)
                 .toList();
     }
 
+    // Fallback: single pass over all students keeping only the best `limit` in a
+    // bounded heap
+    private List<StudentPerformanceDto> getTopPerformingStudentsInMemory(int limit) {
+        BoundedTopK<StudentPerformanceDto> top = new BoundedTopK<>(limit, LEADERBOARD_ORDER);
+        for (StudentPerformanceSummary summary : performanceStatRepository
+                .findStudentSummaries(PerformanceScope.STUDENT)) {
+            top.offer(mapToStudentPerformance(summary));
+        }
+        return top.toSortedList();
+    }
+
     @Override
     public List<StudentPerformanceDto> getTopStudentsByYear(int year, int limit) {
-        List<Student> students = studentRepository.findAll()
-                .stream()
-                .filter(s -> s.getYear() != null && s.getYear() == year)
-                .toList();
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (yearLeaderboard.isInitialized()) {
+            return yearLeaderboard.top(year, limit);
+        }
 
-        List<StudentPerformanceDto> perf = students.stream().map(student -> {
-            List<com.example.Student_Management_System.entity.ExamResult> results = examResultRepository
-                    .findByStudent(student);
-
-            List<Double> percentages = results.stream()
-                    .filter(r -> r.getMarksObtained() != null)
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
-            StudentPerformanceDto dto = new StudentPerformanceDto();
-            dto.setStudentId(student.getId());
-            dto.setStudentRollNo(student.getRollNo());
-            dto.setStudentName(student.getName());
-            dto.setYear(student.getYear());
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                double passPct = pass * 100.0 / percentages.size();
-                dto.setAverageMarks(avgPct);
-                dto.setPassPercentage(passPct);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-            }
-            return dto;
-        }).collect(Collectors.toList());
-
-        return perf.stream()
-                .sorted(Comparator.comparingDouble(StudentPerformanceDto::getAverageMarks).reversed())
-                .limit(limit)
-                .toList();
+        // Leaderboard not built yet (startup): rank this year's students in SQL
+        List<StudentPerformanceSummary> top = new ArrayList<>(performanceStatRepository
+                .findStudentLeaderboardByYear(PerformanceScope.STUDENT, year, PageRequest.of(0, limit)));
+        if (top.size() < limit) {
+            top.addAll(performanceStatRepository.findStudentsWithoutResultsByYear(PerformanceScope.STUDENT, year,
+                    PageRequest.of(0, limit - top.size())));
+        }
+
+        List<StudentPerformanceDto> result = new ArrayList<>();
+        for (StudentPerformanceSummary summary : top) {
+            StudentPerformanceDto dto = mapToStudentPerformance(summary);
+            dto.setRank(result.size() + 1);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    public StudentPerformanceDto getStudentYearRank(String rollNo) {
+        Student student = studentRepository.findByRollNo(rollNo)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with rollNo " + rollNo));
+        return yearLeaderboard.standingOf(student.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("No ranking available for rollNo " + rollNo));
+    }
+
+    private StudentPerformanceDto mapToStudentPerformance(StudentPerformanceSummary summary) {
+        StudentPerformanceDto dto = new StudentPerformanceDto();
+        dto.setStudentId(summary.getGroupId());
+        dto.setStudentRollNo(summary.getRollNo());
+        dto.setStudentName(summary.getGroupName());
+        dto.setYear(summary.getYear());
+
+        PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+        dto.setAverageMarks(stats.average());
+        dto.setPassPercentage(stats.passPercentage());
+        return dto;
+    }
+
+    private SubjectPerformanceDto mapToSubjectPerformance(PerformanceSummary summary) {
+        SubjectPerformanceDto dto = new SubjectPerformanceDto();
+        dto.setSubjectId(summary.getGroupId());
+        dto.setSubjectName(summary.getGroupName());
+
+        PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+        dto.setAverageMarks(stats.average()); // Using average percentage as "Average Marks"
+        dto.setPassPercentage(stats.passPercentage());
+        dto.setDistinctionCount(stats.distinctionCount());
+        return dto;
     }
 }
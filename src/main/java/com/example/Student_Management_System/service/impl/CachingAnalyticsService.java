@@ -0,0 +1,56 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.analytics.AnalyticsCache;
+import com.example.Student_Management_System.analytics.AnalyticsCache.Category;
+import com.example.Student_Management_System.dto.StudentPerformanceDto;
+import com.example.Student_Management_System.dto.SubjectPerformanceDto;
+import com.example.Student_Management_System.dto.TeacherPerformanceDto;
+import com.example.Student_Management_System.service.AnalyticsService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves analytics from {@link AnalyticsCache}, computing through
+ * {@link AnalyticsServiceImpl} on a miss.
+ */
+@Service
+@Primary
+public class CachingAnalyticsService implements AnalyticsService {
+
+    private final AnalyticsServiceImpl delegate;
+    private final AnalyticsCache analyticsCache;
+
+    public CachingAnalyticsService(AnalyticsServiceImpl delegate, AnalyticsCache analyticsCache) {
+        this.delegate = delegate;
+        this.analyticsCache = analyticsCache;
+    }
+
+    @Override
+    public List<SubjectPerformanceDto> getSubjectWiseAverages() {
+        return analyticsCache.get(Category.SUBJECTS, "", delegate::getSubjectWiseAverages);
+    }
+
+    @Override
+    public List<TeacherPerformanceDto> getTeacherWisePerformance() {
+        return analyticsCache.get(Category.TEACHERS, "", delegate::getTeacherWisePerformance);
+    }
+
+    @Override
+    public List<StudentPerformanceDto> getTopPerformingStudents(int limit) {
+        return analyticsCache.get(Category.TOP_STUDENTS, String.valueOf(limit),
+                () -> delegate.getTopPerformingStudents(limit));
+    }
+
+    @Override
+    public List<StudentPerformanceDto> getTopStudentsByYear(int year, int limit) {
+        return analyticsCache.get(Category.TOP_STUDENTS_BY_YEAR, year + ":" + limit,
+                () -> delegate.getTopStudentsByYear(year, limit));
+    }
+
+    @Override
+    public StudentPerformanceDto getStudentYearRank(String rollNo) {
+        return analyticsCache.get(Category.STUDENT_RANK, rollNo, () -> delegate.getStudentYearRank(rollNo));
+    }
+}
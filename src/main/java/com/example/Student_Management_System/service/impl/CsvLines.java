@@ -0,0 +1,60 @@
+package com.example.Student_Management_System.service.impl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Line-level CSV handling shared by the streaming uploads: comma separated,
+ * values trimmed, and one pair of surrounding double quotes stripped. Quoted
+ * commas are not supported.
+ */
+final class CsvLines {
+
+    private CsvLines() {
+    }
+
+    static String[] split(String line) {
+        String[] columns = line.split(",", -1);
+        for (int i = 0; i < columns.length; i++) {
+            String value = columns[i].trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1).trim();
+            }
+            columns[i] = value;
+        }
+        return columns;
+    }
+
+    // Splits a data row that must reach column lastColumn; IllegalArgumentException
+    // (reported as a parse rejection) when it is short
+    static String[] split(String line, int lastColumn, String expected) {
+        String[] columns = split(line);
+        if (columns.length <= lastColumn) {
+            throw new IllegalArgumentException("expected " + expected);
+        }
+        return columns;
+    }
+
+    // Column positions by header name, lower-cased with underscores removed
+    // (so "roll_no" and "rollNo" both map to "rollno")
+    static Map<String, Integer> header(String line) {
+        String[] columns = split(line);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            positions.putIfAbsent(columns[i].toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        return positions;
+    }
+
+    // Position of the first of the given names present in the header, or -1
+    static int position(Map<String, Integer> header, String... names) {
+        for (String name : names) {
+            Integer position = header.get(name);
+            if (position != null) {
+                return position;
+            }
+        }
+        return -1;
+    }
+}
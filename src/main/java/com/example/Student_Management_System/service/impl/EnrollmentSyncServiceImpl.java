@@ -0,0 +1,66 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.repo.EnrollmentJdbcRepository;
+import com.example.Student_Management_System.repo.EnrollmentRepository;
+import com.example.Student_Management_System.repo.SubjectRepository;
+import com.example.Student_Management_System.service.EnrollmentSyncService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Diffs the desired subject set against the stored one and applies the
+ * difference with at most one DELETE and one insert batch, so the cost does
+ * not grow with the number of subjects in a year.
+ */
+@Service
+@Transactional
+public class EnrollmentSyncServiceImpl implements EnrollmentSyncService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+    private final SubjectRepository subjectRepository;
+
+    public EnrollmentSyncServiceImpl(EnrollmentRepository enrollmentRepository,
+            EnrollmentJdbcRepository enrollmentJdbcRepository,
+            SubjectRepository subjectRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentJdbcRepository = enrollmentJdbcRepository;
+        this.subjectRepository = subjectRepository;
+    }
+
+    @Override
+    public Set<Long> sync(Long studentId, Collection<Long> subjectIds) {
+        Set<Long> desired = new HashSet<>(subjectIds);
+        Set<Long> current = new HashSet<>(enrollmentRepository.findSubjectIdsByStudentId(studentId));
+
+        List<Long> toRemove = new ArrayList<>();
+        for (Long subjectId : current) {
+            if (!desired.contains(subjectId)) {
+                toRemove.add(subjectId);
+            }
+        }
+        List<EnrollmentJdbcRepository.Row> toAdd = new ArrayList<>();
+        for (Long subjectId : desired) {
+            if (!current.contains(subjectId)) {
+                toAdd.add(new EnrollmentJdbcRepository.Row(studentId, subjectId));
+            }
+        }
+
+        if (!toRemove.isEmpty()) {
+            enrollmentRepository.deleteByStudentIdAndSubjectIds(studentId, toRemove);
+        }
+        enrollmentJdbcRepository.insertAll(toAdd);
+        return desired;
+    }
+
+    @Override
+    public Set<Long> syncToYear(Long studentId, Integer year) {
+        return sync(studentId, subjectRepository.findIdsByYear(year));
+    }
+}
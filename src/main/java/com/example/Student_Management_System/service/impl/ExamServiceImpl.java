@@ -1,42 +1,82 @@
 package com.example.Student_Management_System.service.impl;
 
+import com.example.Student_Management_System.analytics.ResultChange;
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto.Status;
+import com.example.Student_Management_System.dto.ExamBatchRequestDto;
 import com.example.Student_Management_System.dto.ExamDto;
 import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.dto.ExamTemplateDto;
 import com.example.Student_Management_System.entity.*;
+import com.example.Student_Management_System.event.ExamsChangedEvent;
+import com.example.Student_Management_System.exception.BadRequestException;
+import com.example.Student_Management_System.exception.ConflictException;
 import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import com.example.Student_Management_System.exception.UnprocessableEntityException;
 import com.example.Student_Management_System.repo.*;
 import com.example.Student_Management_System.service.ExamService;
+import com.example.Student_Management_System.service.PerformanceStatService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ExamServiceImpl implements ExamService {
 
+    // Lost write races tolerated per mark before giving up with a conflict
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
     private final ExamRepository examRepository;
     private final ExamResultRepository examResultRepository;
     private final SubjectRepository subjectRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final ExamResultJdbcRepository examResultJdbcRepository;
+    private final ExamJdbcRepository examJdbcRepository;
+    private final BulkSubmissionRepository bulkSubmissionRepository;
+    private final ObjectMapper objectMapper;
+    private final PerformanceStatService performanceStatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ExamServiceImpl(ExamRepository examRepository,
             ExamResultRepository examResultRepository,
             SubjectRepository subjectRepository,
             StudentRepository studentRepository,
             TeacherRepository teacherRepository,
-            EnrollmentRepository enrollmentRepository) {
+            EnrollmentRepository enrollmentRepository,
+            ExamResultJdbcRepository examResultJdbcRepository,
+            ExamJdbcRepository examJdbcRepository,
+            BulkSubmissionRepository bulkSubmissionRepository,
+            ObjectMapper objectMapper,
+            PerformanceStatService performanceStatService,
+            ApplicationEventPublisher eventPublisher) {
         this.examRepository = examRepository;
         this.examResultRepository = examResultRepository;
         this.subjectRepository = subjectRepository;
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.examResultJdbcRepository = examResultJdbcRepository;
+        this.examJdbcRepository = examJdbcRepository;
+        this.bulkSubmissionRepository = bulkSubmissionRepository;
+        this.objectMapper = objectMapper;
+        this.performanceStatService = performanceStatService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -57,17 +97,88 @@ public class ExamServiceImpl implements ExamService {
         }
 
         Exam saved = examRepository.save(exam);
+        eventPublisher.publishEvent(new ExamsChangedEvent(Set.of(saved.getId())));
         return mapToDto(saved);
     }
 
+    @Override
+    public List<ExamDto> createExams(ExamBatchRequestDto request) {
+        List<ExamDto> rows = request.getExams() != null ? request.getExams() : List.of();
+        ExamTemplateDto template = request.getTemplate();
+        if (rows.isEmpty() && template == null) {
+            throw new BadRequestException("Provide a list of exams or a template");
+        }
+
+        // All referenced subjects (with teachers) in one query per source
+        Map<Long, Subject> subjects = new HashMap<>();
+        if (!rows.isEmpty()) {
+            Set<Long> subjectIds = rows.stream().map(ExamDto::getSubjectId).collect(Collectors.toSet());
+            for (Subject subject : subjectRepository.findAllByIdWithTeacher(subjectIds)) {
+                subjects.put(subject.getId(), subject);
+            }
+        }
+        List<Subject> templateSubjects = List.of();
+        if (template != null) {
+            templateSubjects = subjectRepository.findByYearWithTeacher(template.getYear());
+            if (templateSubjects.isEmpty()) {
+                throw new BadRequestException("No subjects found for year " + template.getYear());
+            }
+        }
+
+        List<Exam> exams = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ExamDto row = rows.get(i);
+            Subject subject = subjects.get(row.getSubjectId());
+            if (subject == null) {
+                throw new ResourceNotFoundException("Subject not found with id " + row.getSubjectId()
+                        + " (exam " + (i + 1) + ")");
+            }
+            exams.add(newExam(row.getExamName(), row.getExamType(), subject, row.getTargetYear(),
+                    row.getMaxMarks(), row.getExamDate(), row.getDescription()));
+        }
+        for (Subject subject : templateSubjects) {
+            exams.add(newExam(template.getExamName(), template.getExamType(), subject, template.getYear(),
+                    template.getMaxMarks(), template.getExamDate(), template.getDescription()));
+        }
+
+        List<Long> ids = examJdbcRepository.insertAll(exams);
+        List<ExamDto> result = new ArrayList<>(exams.size());
+        for (int i = 0; i < exams.size(); i++) {
+            Exam exam = exams.get(i);
+            exam.setId(ids.get(i));
+            result.add(toBaseDto(exam));
+        }
+        eventPublisher.publishEvent(new ExamsChangedEvent(new HashSet<>(ids)));
+        return result;
+    }
+
     @Override
     public ExamDto updateExam(Long id, ExamDto dto) {
+        // Result writers check the exam version after writing, and the row locks
+        // below keep the marks re-counted here from changing underneath us
+        examResultJdbcRepository.lockExams(List.of(id));
         Exam exam = examRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id " + id));
 
+        if (dto.getVersion() != null && !dto.getVersion().equals(exam.getVersion())) {
+            throw new ConflictException("Exam was changed by another user (version " + exam.getVersion()
+                    + "); reload and try again");
+        }
+
         Subject subject = subjectRepository.findById(dto.getSubjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id " + dto.getSubjectId()));
 
+        // Existing marks move to the new subject/max marks: take them out of the
+        // aggregates under the old values and add them back under the new ones
+        boolean statsAffected = !exam.getMaxMarks().equals(dto.getMaxMarks())
+                || !exam.getSubject().getId().equals(subject.getId());
+        List<ExamResultJdbcRepository.Row> results = statsAffected ? examResultJdbcRepository.lockResults(id)
+                : List.of();
+        List<ResultChange> changes = new ArrayList<>();
+        for (ExamResultJdbcRepository.Row result : results) {
+            changes.add(ResultChange.of(exam, result.studentId(), result.marksObtained(), null));
+        }
+
         exam.setExamName(dto.getExamName());
         exam.setExamType(dto.getExamType());
         exam.setSubject(subject);
@@ -80,15 +191,34 @@ public class ExamServiceImpl implements ExamService {
         }
 
         Exam saved = examRepository.save(exam);
+
+        for (ExamResultJdbcRepository.Row result : results) {
+            changes.add(ResultChange.of(saved, result.studentId(), null, result.marksObtained()));
+        }
+        performanceStatService.applyChanges(changes);
+        eventPublisher.publishEvent(new ExamsChangedEvent(Set.of(saved.getId())));
+
         return mapToDto(saved);
     }
 
     @Override
     public void deleteExam(Long id) {
-        if (!examRepository.existsById(id)) {
+        // Exam row, then its results: no new first mark can be inserted and no
+        // mark can change between counting the removals and deleting them
+        if (examResultJdbcRepository.lockExams(List.of(id)).isEmpty()) {
             throw new ResourceNotFoundException("Exam not found with id " + id);
         }
-        examRepository.deleteById(id);
+        examResultJdbcRepository.lockResults(id);
+
+        performanceStatService.applyChanges(examResultRepository.findRemovalsByExamId(id)
+                .stream()
+                .map(ResultChange::removal)
+                .toList());
+
+        // Set-based: one DELETE for the results, one for the exam
+        examResultRepository.deleteAllByExamId(id);
+        examRepository.deleteExamById(id);
+        eventPublisher.publishEvent(new ExamsChangedEvent(Set.of(id)));
     }
 
     @Override
@@ -102,27 +232,16 @@ public class ExamServiceImpl implements ExamService {
     @Override
     @Transactional(readOnly = true)
     public List<ExamDto> getAllExams() {
-        return examRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(examRepository.findAllWithSubject());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExamDto> getExamsByTeacher(Long teacherId) {
-        Teacher teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id " + teacherId));
-
-        List<Subject> subjects = teacher.getSubjects();
-        if (subjects.isEmpty()) {
-            return new ArrayList<>();
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new ResourceNotFoundException("Teacher not found with id " + teacherId);
         }
-
-        return examRepository.findBySubjectIn(subjects)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(examRepository.findByTeacherIdWithSubject(teacherId));
     }
 
     @Override
@@ -131,52 +250,35 @@ public class ExamServiceImpl implements ExamService {
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id " + examId));
 
-        // Get only students enrolled in this specific subject
-        List<Student> targetStudents = enrollmentRepository.findBySubject(exam.getSubject())
+        // Students enrolled in this specific subject with their existing results,
+        // in one query
+        return enrollmentRepository.findGradingSheet(exam.getSubject().getId(), examId)
                 .stream()
-                .map(Enrollment::getStudent)
-                .toList();
-
-        // Map to DTOs including existing results
-        return targetStudents.stream().map(student -> {
-            ExamResultDto dto = new ExamResultDto();
-            dto.setExamId(examId);
-            dto.setStudentId(student.getId());
-            dto.setStudentRollNo(student.getRollNo());
-            dto.setStudentName(student.getName());
-            dto.setStudentEmail(student.getEmail());
-            dto.setMaxMarks(exam.getMaxMarks());
-            dto.setExamName(exam.getExamName());
-            dto.setSubjectName(exam.getSubject().getSubjectName());
-            dto.setExamType(exam.getExamType());
-
-            // Check if result already exists
-            examResultRepository.findByExamAndStudent(exam, student)
-                    .ifPresent(result -> {
-                        dto.setId(result.getId());
-                        dto.setMarksObtained(result.getMarksObtained());
-                    });
-
-            return dto;
-        }).collect(Collectors.toList());
+                .map(row -> {
+                    ExamResultDto dto = new ExamResultDto();
+                    dto.setId(row.getResultId());
+                    dto.setExamId(examId);
+                    dto.setStudentId(row.getStudentId());
+                    dto.setStudentRollNo(row.getRollNo());
+                    dto.setStudentName(row.getName());
+                    dto.setStudentEmail(row.getEmail());
+                    dto.setMarksObtained(row.getMarksObtained());
+                    dto.setVersion(row.getVersion());
+                    dto.setMaxMarks(exam.getMaxMarks());
+                    dto.setExamName(exam.getExamName());
+                    dto.setSubjectName(exam.getSubject().getSubjectName());
+                    dto.setExamType(exam.getExamType());
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void addOrUpdateResult(ExamResultDto dto) {
         Exam exam = examRepository.findById(dto.getExamId())
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id " + dto.getExamId()));
 
-        Student student;
-        if (dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()) {
-            student = studentRepository.findByRollNo(dto.getStudentRollNo())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Student not found with rollNo " + dto.getStudentRollNo()));
-        } else {
-            student = studentRepository.findById(dto.getStudentId())
-                    .orElseThrow(
-                            () -> new ResourceNotFoundException("Student not found with id " + dto.getStudentId()));
-        }
-
         // Validate marks don't exceed max
         if (dto.getMarksObtained() > exam.getMaxMarks()) {
             throw new IllegalArgumentException(
@@ -184,20 +286,297 @@ public class ExamServiceImpl implements ExamService {
                             + ")");
         }
 
-        ExamResult result = examResultRepository.findByExamAndStudent(exam, student)
-                .orElse(new ExamResult());
+        Long studentId = resolveStudentId(dto);
+
+        // No locks: read the current marks, then write only if they are still
+        // current (version-conditional update, or an insert that loses to a
+        // concurrent first mark). On a lost race, read again and retry, so the
+        // aggregate delta is always taken from the value actually replaced.
+        // READ_COMMITTED lets the re-read see the row the other writer committed
+        for (int attempt = 1;; attempt++) {
+            ExamResultJdbcRepository.Row current = examResultJdbcRepository.findCurrent(exam.getId(), studentId);
+            Integer oldMarks = current != null ? current.marksObtained() : null;
+            boolean written;
+            if (current == null) {
+                written = examResultJdbcRepository.insert(new ExamResultJdbcRepository.Row(
+                        null, exam.getId(), studentId, dto.getMarksObtained(), null));
+            } else {
+                checkResultVersion(dto, current.version(), oldMarks);
+                written = examResultJdbcRepository.updateMarksIfVersion(new ExamResultJdbcRepository.Row(
+                        current.id(), exam.getId(), studentId, dto.getMarksObtained(), current.version()));
+            }
+            if (written) {
+                checkExamUnchanged(List.of(exam));
+                // Keep the running aggregates in step within the same transaction
+                performanceStatService.applyChanges(
+                        List.of(ResultChange.of(exam, studentId, oldMarks, dto.getMarksObtained())));
+                return;
+            }
+            if (attempt == MAX_WRITE_ATTEMPTS) {
+                throw new ConflictException("Result is being changed by other users; try again");
+            }
+        }
+    }
 
-        result.setExam(exam);
-        result.setStudent(student);
-        result.setMarksObtained(dto.getMarksObtained());
+    // The aggregate deltas were computed from the exams as read before
+    // writing; an edit that committed since (max marks, subject) would make
+    // them wrong, so the write is rolled back instead
+    private void checkExamUnchanged(Collection<Exam> exams) {
+        Map<Long, Long> versions = examResultJdbcRepository
+                .findExamVersions(exams.stream().map(Exam::getId).toList());
+        for (Exam exam : exams) {
+            if (!exam.getVersion().equals(versions.get(exam.getId()))) {
+                throw new ConflictException("Exam " + exam.getId()
+                        + " was changed while marks were being saved; reload and try again");
+            }
+        }
+    }
 
-        examResultRepository.save(result);
+    // A stale version only conflicts if it would overwrite a different mark
+    private void checkResultVersion(ExamResultDto dto, Long currentVersion, Integer currentMarks) {
+        if (dto.getVersion() != null && !dto.getVersion().equals(currentVersion)
+                && !Objects.equals(currentMarks, dto.getMarksObtained())) {
+            throw new ConflictException("Result was changed by another user (version " + currentVersion
+                    + "); reload and try again");
+        }
+    }
+
+    private Long resolveStudentId(ExamResultDto dto) {
+        if (dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()) {
+            return studentRepository.findIdByRollNo(dto.getStudentRollNo())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Student not found with rollNo " + dto.getStudentRollNo()));
+        }
+        if (dto.getStudentId() == null || !studentRepository.existsById(dto.getStudentId())) {
+            throw new ResourceNotFoundException("Student not found with id " + dto.getStudentId());
+        }
+        return dto.getStudentId();
     }
 
     @Override
-    public void addOrUpdateBulkResults(List<ExamResultDto> dtos) {
+    public List<BulkResultOutcomeDto> addOrUpdateBulkResults(List<ExamResultDto> dtos) {
+        // Exams, students and existing results are each loaded with one query and
+        // the writes go out as JDBC batches; invalid rows are reported, not thrown
+        Set<Long> examIds = new HashSet<>();
+        Set<String> rollNos = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
         for (ExamResultDto dto : dtos) {
-            addOrUpdateResult(dto);
+            if (dto.getExamId() != null) {
+                examIds.add(dto.getExamId());
+            }
+            if (dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()) {
+                rollNos.add(dto.getStudentRollNo());
+            } else if (dto.getStudentId() != null) {
+                studentIds.add(dto.getStudentId());
+            }
+        }
+
+        Map<Long, Exam> exams = examRepository.findAllById(examIds).stream()
+                .collect(Collectors.toMap(Exam::getId, Function.identity()));
+        Map<String, Long> studentIdsByRollNo = new HashMap<>();
+        Set<Long> knownStudentIds = new HashSet<>();
+        if (!rollNos.isEmpty() || !studentIds.isEmpty()) {
+            for (StudentKeyView key : studentRepository.findKeysByRollNoInOrIdIn(rollNos, studentIds)) {
+                studentIdsByRollNo.put(key.getRollNo(), key.getId());
+                knownStudentIds.add(key.getId());
+            }
+        }
+        Map<ResultKey, PendingResult> pending = new LinkedHashMap<>();
+        if (!exams.isEmpty() && !knownStudentIds.isEmpty()) {
+            // Read without locks: the writes below only apply where these rows are
+            // still current, and report the rest as conflicts
+            for (ExamResultJdbcRepository.Row existing : examResultJdbcRepository
+                    .findExisting(exams.keySet(), knownStudentIds)) {
+                pending.put(new ResultKey(existing.examId(), existing.studentId()),
+                        new PendingResult(existing.id(), existing.marksObtained(), existing.version()));
+            }
+        }
+
+        List<BulkResultOutcomeDto> outcomes = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            ExamResultDto dto = dtos.get(i);
+            Exam exam = exams.get(dto.getExamId());
+            Long studentId = dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()
+                    ? studentIdsByRollNo.get(dto.getStudentRollNo())
+                    : knownStudentIds.contains(dto.getStudentId()) ? dto.getStudentId() : null;
+            String error = validateResult(dto, exam, studentId);
+            if (error != null) {
+                outcomes.add(new BulkResultOutcomeDto(i, dto, Status.REJECTED, error));
+                continue;
+            }
+
+            // A repeated (exam, student) in the same upload updates the earlier row
+            PendingResult result = pending.computeIfAbsent(new ResultKey(exam.getId(), studentId),
+                    key -> new PendingResult(null, null, null));
+            if (result.id != null && dto.getVersion() != null && !dto.getVersion().equals(result.version)
+                    && !Objects.equals(result.currentMarks(), dto.getMarksObtained())) {
+                outcomes.add(new BulkResultOutcomeDto(i, dto, Status.CONFLICT, "Result was changed by another "
+                        + "user (version " + result.version + "); reload and try again"));
+                continue;
+            }
+            Status status;
+            if (result.id == null && !result.touched) {
+                status = Status.INSERTED;
+            } else if (Objects.equals(result.currentMarks(), dto.getMarksObtained())) {
+                status = Status.UNCHANGED;
+            } else {
+                status = Status.UPDATED;
+            }
+            result.marks = dto.getMarksObtained();
+            result.touched = true;
+            BulkResultOutcomeDto outcome = new BulkResultOutcomeDto(i, dto, status, null);
+            outcome.setStudentId(studentId);
+            outcomes.add(outcome);
+            result.outcomes.add(outcome);
+        }
+
+        List<ExamResultJdbcRepository.Row> inserts = new ArrayList<>();
+        List<ExamResultJdbcRepository.Row> updates = new ArrayList<>();
+        for (Map.Entry<ResultKey, PendingResult> entry : pending.entrySet()) {
+            PendingResult result = entry.getValue();
+            if (!result.touched || (result.id != null && Objects.equals(result.originalMarks, result.marks))) {
+                continue;
+            }
+            ResultKey key = entry.getKey();
+            ExamResultJdbcRepository.Row row = new ExamResultJdbcRepository.Row(
+                    result.id, key.examId(), key.studentId(), result.marks, result.version);
+            (result.id == null ? inserts : updates).add(row);
+        }
+        // A first mark another grader entered meanwhile fails on the unique key,
+        // and an update applies only where the version read above still holds;
+        // either way the row is reported, not overwritten
+        for (ExamResultJdbcRepository.Row conflict : examResultJdbcRepository.insertAbsent(inserts)) {
+            markConflicted(pending, conflict, "Result was entered by another user; reload and try again");
+        }
+        for (ExamResultJdbcRepository.Row conflict : examResultJdbcRepository.updateMarksIfVersion(updates)) {
+            markConflicted(pending, conflict, "Result was changed by another user; reload and try again");
+        }
+        checkExamUnchanged(exams.values());
+
+        List<ResultChange> changes = new ArrayList<>();
+        for (List<ExamResultJdbcRepository.Row> rows : List.of(inserts, updates)) {
+            for (ExamResultJdbcRepository.Row row : rows) {
+                PendingResult result = pending.get(new ResultKey(row.examId(), row.studentId()));
+                if (!result.conflicted) {
+                    changes.add(ResultChange.of(exams.get(row.examId()), row.studentId(), result.originalMarks,
+                            result.marks));
+                }
+            }
+        }
+        performanceStatService.applyChanges(changes);
+
+        return outcomes;
+    }
+
+    private static void markConflicted(Map<ResultKey, PendingResult> pending, ExamResultJdbcRepository.Row row,
+            String message) {
+        PendingResult result = pending.get(new ResultKey(row.examId(), row.studentId()));
+        result.conflicted = true;
+        for (BulkResultOutcomeDto outcome : result.outcomes) {
+            outcome.setStatus(Status.CONFLICT);
+            outcome.setMessage(message);
+        }
+    }
+
+    @Override
+    public List<BulkResultOutcomeDto> addOrUpdateBulkResults(List<ExamResultDto> dtos, String owner,
+            String idempotencyKey, Integer chunkSeq) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return addOrUpdateBulkResults(dtos);
+        }
+        if (idempotencyKey.length() > 100) {
+            throw new BadRequestException("Idempotency key must be at most 100 characters");
+        }
+        int seq = chunkSeq != null ? chunkSeq : 0;
+        String payloadHash = payloadHash(dtos);
+
+        Optional<BulkSubmission> completed = bulkSubmissionRepository
+                .findByOwnerAndIdempotencyKeyAndChunkSeq(owner, idempotencyKey, seq);
+        if (completed.isPresent()) {
+            if (!completed.get().getPayloadHash().equals(payloadHash)) {
+                throw new UnprocessableEntityException(
+                        "Idempotency key was already used with a different request body");
+            }
+            try {
+                return objectMapper.readValue(completed.get().getOutcomeJson(),
+                        new TypeReference<List<BulkResultOutcomeDto>>() {
+                        });
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Stored bulk outcome is unreadable", e);
+            }
+        }
+
+        List<BulkResultOutcomeDto> outcomes = addOrUpdateBulkResults(dtos);
+
+        // Recorded in the same transaction as the writes: a stored outcome always
+        // means the chunk committed. A concurrent duplicate fails on the unique key
+        BulkSubmission submission = new BulkSubmission();
+        submission.setOwner(owner);
+        submission.setIdempotencyKey(idempotencyKey);
+        submission.setChunkSeq(seq);
+        submission.setPayloadHash(payloadHash);
+        submission.setCreatedAt(LocalDateTime.now());
+        try {
+            submission.setOutcomeJson(objectMapper.writeValueAsString(outcomes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store bulk outcome", e);
+        }
+        bulkSubmissionRepository.saveAndFlush(submission);
+        return outcomes;
+    }
+
+    // Hex SHA-256 of the rows as JSON, so a retry can be told apart from a
+    // different request reusing the same key
+    private String payloadHash(List<ExamResultDto> dtos) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(dtos));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash bulk request", e);
+        }
+    }
+
+    // Null when the row can be written, otherwise the rejection reason
+    private String validateResult(ExamResultDto dto, Exam exam, Long studentId) {
+        if (exam == null) {
+            return "Exam not found with id " + dto.getExamId();
+        }
+        if (studentId == null) {
+            return dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()
+                    ? "Student not found with rollNo " + dto.getStudentRollNo()
+                    : "Student not found with id " + dto.getStudentId();
+        }
+        if (dto.getMarksObtained() == null || dto.getMarksObtained() < 0) {
+            return "Marks obtained must be zero or more";
+        }
+        if (dto.getMarksObtained() > exam.getMaxMarks()) {
+            return "Marks obtained (" + dto.getMarksObtained() + ") cannot exceed max marks ("
+                    + exam.getMaxMarks() + ")";
+        }
+        return null;
+    }
+
+    private record ResultKey(Long examId, Long studentId) {
+    }
+
+    private static final class PendingResult {
+
+        private final Long id; // null for a new result
+        private final Integer originalMarks;
+        private final Long version;
+        private final List<BulkResultOutcomeDto> outcomes = new ArrayList<>();
+        private Integer marks;
+        private boolean touched;
+        private boolean conflicted;
+
+        private PendingResult(Long id, Integer originalMarks, Long version) {
+            this.id = id;
+            this.originalMarks = originalMarks;
+            this.version = version;
+        }
+
+        private Integer currentMarks() {
+            return touched ? marks : originalMarks;
         }
     }
 
@@ -217,6 +596,7 @@ public class ExamServiceImpl implements ExamService {
                     dto.setStudentRollNo(student.getRollNo());
                     dto.setStudentName(student.getName());
                     dto.setMarksObtained(result.getMarksObtained());
+                    dto.setVersion(result.getVersion());
                     dto.setMaxMarks(result.getExam().getMaxMarks());
                     dto.setExamName(result.getExam().getExamName());
                     dto.setSubjectName(result.getExam().getSubject().getSubjectName());
@@ -228,6 +608,37 @@ public class ExamServiceImpl implements ExamService {
     }
 
     private ExamDto mapToDto(Exam exam) {
+        return mapToDtos(List.of(exam)).get(0);
+    }
+
+    // Enrolled and results-entered counts for all exams come from two grouped
+    // queries instead of per-exam list loads
+    private List<ExamDto> mapToDtos(List<Exam> exams) {
+        if (exams.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> subjectIds = new HashSet<>();
+        Set<Long> examIds = new HashSet<>();
+        for (Exam exam : exams) {
+            subjectIds.add(exam.getSubject().getId());
+            examIds.add(exam.getId());
+        }
+        Map<Long, Long> enrolledBySubject = toCountMap(enrollmentRepository.countBySubjectIds(subjectIds));
+        // Only results of enrolled students count (avoids mismatch like 3/1=300%)
+        Map<Long, Long> enteredByExam = toCountMap(examResultRepository.countEnrolledResultsByExamIds(examIds));
+
+        List<ExamDto> result = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            ExamDto dto = toBaseDto(exam);
+            dto.setTotalStudents(enrolledBySubject.getOrDefault(exam.getSubject().getId(), 0L).intValue());
+            dto.setResultsEntered(enteredByExam.getOrDefault(exam.getId(), 0L).intValue());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // Exam, subject and teacher fields only; no counting queries
+    private ExamDto toBaseDto(Exam exam) {
         ExamDto dto = new ExamDto();
         dto.setId(exam.getId());
         dto.setExamName(exam.getExamName());
@@ -244,23 +655,35 @@ public class ExamServiceImpl implements ExamService {
             dto.setAssignedTeacherName(exam.getSubject().getAssignedTeacher().getName());
             dto.setAssignedTeacherId(exam.getSubject().getAssignedTeacher().getId());
         }
+        dto.setVersion(exam.getVersion());
+        return dto;
+    }
 
-        // Count only students enrolled in this specific subject
-        List<com.example.Student_Management_System.entity.Enrollment> enrollments = enrollmentRepository
-                .findBySubject(exam.getSubject());
-        int totalStudents = enrollments.size();
-        dto.setTotalStudents(totalStudents);
-
-        // Count results entered only for enrolled students (avoids mismatch like
-        // 3/1=300%)
-        List<Student> enrolledStudents = enrollments.stream()
-                .map(com.example.Student_Management_System.entity.Enrollment::getStudent)
-                .collect(java.util.stream.Collectors.toList());
-        long resultsEntered = examResultRepository.findByExam(exam).stream()
-                .filter(r -> enrolledStudents.stream().anyMatch(s -> s.getId().equals(r.getStudent().getId())))
-                .count();
-        dto.setResultsEntered((int) resultsEntered);
+    private Exam newExam(String examName, String examType, Subject subject, Integer targetYear, Integer maxMarks,
+            String examDate, String description) {
+        Exam exam = new Exam();
+        exam.setExamName(examName);
+        exam.setExamType(examType);
+        exam.setSubject(subject);
+        exam.setTargetYear(targetYear);
+        exam.setMaxMarks(maxMarks);
+        exam.setDescription(description);
+        if (examDate != null && !examDate.isEmpty()) {
+            try {
+                exam.setExamDate(LocalDate.parse(examDate));
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid exam date '" + examDate + "' for " + examName
+                        + "; expected yyyy-MM-dd");
+            }
+        }
+        return exam;
+    }
 
-        return dto;
+    private Map<Long, Long> toCountMap(List<IdCountView> counts) {
+        Map<Long, Long> map = new HashMap<>();
+        for (IdCountView count : counts) {
+            map.put(count.getId(), count.getCount());
+        }
+        return map;
     }
 }
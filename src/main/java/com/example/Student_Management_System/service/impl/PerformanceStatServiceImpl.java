@@ -0,0 +1,152 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.analytics.PerformanceAccumulator;
+import com.example.Student_Management_System.analytics.ResultChange;
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.entity.PerformanceStat;
+import com.example.Student_Management_System.event.ResultsChangedEvent;
+import com.example.Student_Management_System.repo.ExamResultRepository;
+import com.example.Student_Management_System.repo.PerformanceStatJdbcRepository;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.PerformanceSummary;
+import com.example.Student_Management_System.service.PerformanceStatService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class PerformanceStatServiceImpl implements PerformanceStatService {
+
+    private final PerformanceStatRepository performanceStatRepository;
+    private final PerformanceStatJdbcRepository performanceStatJdbcRepository;
+    private final ExamResultRepository examResultRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PerformanceStatServiceImpl(PerformanceStatRepository performanceStatRepository,
+            PerformanceStatJdbcRepository performanceStatJdbcRepository,
+            ExamResultRepository examResultRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.performanceStatRepository = performanceStatRepository;
+        this.performanceStatJdbcRepository = performanceStatJdbcRepository;
+        this.examResultRepository = examResultRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void applyChanges(Collection<ResultChange> changes) {
+        // Coalesce per (scope, id) so a bulk upload issues one UPDATE per aggregate row
+        Map<StatKey, PerformanceAccumulator> deltas = new LinkedHashMap<>();
+        List<ResultChange> applied = new ArrayList<>();
+
+        for (ResultChange change : changes) {
+            if (change.isNoOp()) {
+                continue;
+            }
+            applied.add(change);
+            PerformanceAccumulator delta = new PerformanceAccumulator();
+            if (change.oldMarks() != null) {
+                delta.removeMarks(change.oldMarks(), change.maxMarks());
+            }
+            if (change.newMarks() != null) {
+                delta.addMarks(change.newMarks(), change.maxMarks());
+            }
+
+            deltas.computeIfAbsent(new StatKey(PerformanceScope.STUDENT, change.studentId()), k -> new PerformanceAccumulator())
+                    .merge(delta);
+            deltas.computeIfAbsent(new StatKey(PerformanceScope.SUBJECT, change.subjectId()), k -> new PerformanceAccumulator())
+                    .merge(delta);
+            if (change.teacherId() != null) {
+                deltas.computeIfAbsent(new StatKey(PerformanceScope.TEACHER, change.teacherId()), k -> new PerformanceAccumulator())
+                        .merge(delta);
+            }
+        }
+
+        deltas.forEach(this::applyDelta);
+
+        if (!applied.isEmpty()) {
+            eventPublisher.publishEvent(new ResultsChangedEvent(applied));
+        }
+    }
+
+    @Override
+    public void reassignSubject(Long subjectId, Long oldTeacherId, Long newTeacherId) {
+        if (oldTeacherId != null && oldTeacherId.equals(newTeacherId)) {
+            return;
+        }
+        performanceStatRepository.findByScopeAndScopeId(PerformanceScope.SUBJECT, subjectId).ifPresent(stat -> {
+            PerformanceAccumulator delta = PerformanceAccumulator.ofTotals(stat.getPercentageSum(),
+                    stat.getResultCount(), stat.getPassCount(), stat.getDistinctionCount());
+
+            if (oldTeacherId != null) {
+                applyDelta(new StatKey(PerformanceScope.TEACHER, oldTeacherId), delta.negate());
+            }
+            if (newTeacherId != null) {
+                applyDelta(new StatKey(PerformanceScope.TEACHER, newTeacherId), delta);
+            }
+        });
+    }
+
+    @Override
+    public void deleteStats(PerformanceScope scope, Long scopeId) {
+        performanceStatRepository.deleteByScopeAndScopeId(scope, scopeId);
+    }
+
+    @Override
+    public void rebuildAll() {
+        performanceStatRepository.deleteAllStats();
+
+        List<PerformanceStat> stats = new ArrayList<>();
+        addStats(stats, PerformanceScope.STUDENT, examResultRepository.summarizeByStudent());
+        addStats(stats, PerformanceScope.SUBJECT, examResultRepository.summarizeBySubject());
+        addStats(stats, PerformanceScope.TEACHER, examResultRepository.summarizeByTeacher());
+        performanceStatRepository.saveAll(stats);
+    }
+
+    private void addStats(List<PerformanceStat> stats, PerformanceScope scope, List<PerformanceSummary> summaries) {
+        for (PerformanceSummary summary : summaries) {
+            if (summary.getResultCount() == 0) {
+                continue;
+            }
+            PerformanceStat stat = new PerformanceStat();
+            stat.setScope(scope);
+            stat.setScopeId(summary.getGroupId());
+            stat.setPercentageSum(summary.getPercentageSum());
+            stat.setResultCount(summary.getResultCount());
+            stat.setPassCount(summary.getPassCount());
+            stat.setDistinctionCount(summary.getDistinctionCount());
+            stats.add(stat);
+        }
+    }
+
+    private void applyDelta(StatKey key, PerformanceAccumulator delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int updated = performanceStatRepository.applyDelta(key.scope(), key.scopeId(),
+                delta.sum(), delta.count(), delta.passCount(), delta.distinctionCount());
+        if (updated > 0) {
+            return;
+        }
+        // First mark for this student/subject/teacher. A concurrent first mark
+        // may insert the row between our UPDATE and INSERT; the unique
+        // (scope, scope_id) key rejects ours and the increment goes onto theirs.
+        try {
+            performanceStatJdbcRepository.insert(key.scope(), key.scopeId(),
+                    delta.sum(), delta.count(), delta.passCount(), delta.distinctionCount());
+        } catch (DuplicateKeyException e) {
+            performanceStatRepository.applyDelta(key.scope(), key.scopeId(),
+                    delta.sum(), delta.count(), delta.passCount(), delta.distinctionCount());
+        }
+    }
+
+    private record StatKey(PerformanceScope scope, Long scopeId) {
+    }
+}
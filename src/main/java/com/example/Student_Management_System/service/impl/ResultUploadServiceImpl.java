@@ -0,0 +1,192 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto.Status;
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.dto.ResultUploadSummaryDto;
+import com.example.Student_Management_System.exception.BadRequestException;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import com.example.Student_Management_System.repo.ExamRepository;
+import com.example.Student_Management_System.service.ExamService;
+import com.example.Student_Management_System.service.ResultUploadService;
+import com.example.Student_Management_System.service.UploadFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a marks file into the bulk result path. Only one chunk of parsed
+ * rows is held at a time, and each chunk is committed in its own transaction
+ * by {@link ExamService#addOrUpdateBulkResults}, so this class is
+ * deliberately not transactional.
+ */
+@Service
+public class ResultUploadServiceImpl implements ResultUploadService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final ExamService examService;
+    private final ExamRepository examRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ResultUploadServiceImpl(ExamService examService,
+            ExamRepository examRepository,
+            ObjectMapper objectMapper,
+            @Value("${results.upload.chunk-size:500}") int chunkSize) {
+        this.examService = examService;
+        this.examRepository = examRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public ResultUploadSummaryDto upload(Long examId, Reader source, UploadFormat format) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam not found with id " + examId);
+        }
+
+        Progress progress = new Progress(examId);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int rowIndex = 0;
+        CsvLayout csvLayout = null;
+
+        try (BufferedReader reader = new BufferedReader(source)) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == UploadFormat.CSV && firstLine) {
+                    firstLine = false;
+                    csvLayout = CsvLayout.fromHeader(line);
+                    if (csvLayout != null) {
+                        continue;
+                    }
+                    csvLayout = CsvLayout.DEFAULT;
+                }
+
+                ExamResultDto row = new ExamResultDto();
+                row.setExamId(examId);
+                try {
+                    if (format == UploadFormat.CSV) {
+                        csvLayout.fill(row, line);
+                    } else {
+                        ExamResultDto parsed = objectMapper.readValue(line, ExamResultDto.class);
+                        row.setStudentId(parsed.getStudentId());
+                        row.setStudentRollNo(parsed.getStudentRollNo());
+                        row.setMarksObtained(parsed.getMarksObtained());
+                    }
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    progress.reject(new BulkResultOutcomeDto(rowIndex++, row, Status.REJECTED,
+                            "Could not parse row: " + e.getMessage()));
+                    continue;
+                }
+
+                chunk.add(new Row(rowIndex++, row));
+                if (chunk.size() == chunkSize) {
+                    progress.commit(chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read upload: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            progress.commit(chunk);
+        }
+
+        return progress.toSummary(rowIndex);
+    }
+
+    private final class Progress {
+
+        private final ResultUploadSummaryDto summary = new ResultUploadSummaryDto();
+        private int accepted;
+        private int rejected;
+        private int chunks;
+
+        private Progress(Long examId) {
+            summary.setExamId(examId);
+        }
+
+        private void commit(List<Row> chunk) {
+            List<ExamResultDto> results = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                results.add(row.result());
+            }
+            for (BulkResultOutcomeDto outcome : examService.addOrUpdateBulkResults(results)) {
+                if (outcome.getStatus() == Status.REJECTED) {
+                    // Outcomes index into the chunk; report the row's position in the file
+                    outcome.setRowIndex(chunk.get(outcome.getRowIndex()).rowIndex());
+                    reject(outcome);
+                } else {
+                    accepted++;
+                }
+            }
+            chunks++;
+        }
+
+        private void reject(BulkResultOutcomeDto outcome) {
+            rejected++;
+            if (summary.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+                summary.getRejections().add(outcome);
+            }
+        }
+
+        private ResultUploadSummaryDto toSummary(int totalRows) {
+            summary.setTotalRows(totalRows);
+            summary.setAcceptedRows(accepted);
+            summary.setRejectedRows(rejected);
+            summary.setChunksCommitted(chunks);
+            return summary;
+        }
+    }
+
+    // A parsed row and its position among the file's data rows
+    private record Row(int rowIndex, ExamResultDto result) {
+    }
+
+    // Column positions of roll number and marks; a header row may reorder them
+    record CsvLayout(int rollNoColumn, int marksColumn) {
+
+        static final CsvLayout DEFAULT = new CsvLayout(0, 1);
+
+        // Null when the line is data rather than a header. Data always has
+        // whole-number marks in the second column, so a first line without
+        // them is a header, even when none of its names are recognized
+        static CsvLayout fromHeader(String line) {
+            Map<String, Integer> header = CsvLines.header(line);
+            int rollNo = CsvLines.position(header, "rollno", "studentrollno");
+            int marks = CsvLines.position(header, "marks", "marksobtained");
+            if (rollNo < 0 && marks < 0) {
+                String[] columns = CsvLines.split(line);
+                if (columns.length > DEFAULT.marksColumn && columns[DEFAULT.marksColumn].matches("-?\\d+")) {
+                    return null;
+                }
+                throw new BadRequestException("Unrecognized CSV header: name a rollNo (or studentRollNo) "
+                        + "and a marks (or marksObtained) column");
+            }
+            if (rollNo < 0 || marks < 0) {
+                throw new BadRequestException("CSV header must name both a roll number and a marks column");
+            }
+            return new CsvLayout(rollNo, marks);
+        }
+
+        void fill(ExamResultDto row, String line) {
+            String[] columns = CsvLines.split(line, Math.max(rollNoColumn, marksColumn), "roll number and marks");
+            row.setStudentRollNo(columns[rollNoColumn]);
+            // NumberFormatException is an IllegalArgumentException
+            row.setMarksObtained(Integer.valueOf(columns[marksColumn]));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.analytics.ScoreDistributionRegistry;
+import com.example.Student_Management_System.analytics.ScoreHistogram;
+import com.example.Student_Management_System.dto.ScoreDistributionDto;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import com.example.Student_Management_System.repo.ExamRepository;
+import com.example.Student_Management_System.repo.SubjectRepository;
+import com.example.Student_Management_System.repo.TeacherRepository;
+import com.example.Student_Management_System.service.ScoreDistributionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ScoreDistributionServiceImpl implements ScoreDistributionService {
+
+    private static final int DISPLAY_BINS = 10;
+
+    private final ScoreDistributionRegistry registry;
+    private final ExamRepository examRepository;
+    private final SubjectRepository subjectRepository;
+    private final TeacherRepository teacherRepository;
+
+    public ScoreDistributionServiceImpl(ScoreDistributionRegistry registry,
+            ExamRepository examRepository,
+            SubjectRepository subjectRepository,
+            TeacherRepository teacherRepository) {
+        this.registry = registry;
+        this.examRepository = examRepository;
+        this.subjectRepository = subjectRepository;
+        this.teacherRepository = teacherRepository;
+    }
+
+    @Override
+    public ScoreDistributionDto getExamDistribution(Long examId) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam not found with id " + examId);
+        }
+        return toDto("EXAM", examId, List.of(examId));
+    }
+
+    @Override
+    public ScoreDistributionDto getSubjectDistribution(Long subjectId) {
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new ResourceNotFoundException("Subject not found with id " + subjectId);
+        }
+        return toDto("SUBJECT", subjectId, examRepository.findIdsBySubjectId(subjectId));
+    }
+
+    @Override
+    public ScoreDistributionDto getTeacherDistribution(Long teacherId) {
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new ResourceNotFoundException("Teacher not found with id " + teacherId);
+        }
+        return toDto("TEACHER", teacherId, examRepository.findIdsByTeacherId(teacherId));
+    }
+
+    private ScoreDistributionDto toDto(String scope, Long scopeId, Collection<Long> examIds) {
+        ScoreHistogram histogram = registry.merged(examIds);
+        ScoreDistributionDto dto = new ScoreDistributionDto();
+        dto.setScope(scope);
+        dto.setScopeId(scopeId);
+        dto.setCount(histogram.count());
+        dto.setMean(round(histogram.mean()));
+        dto.setP25(round(histogram.quantile(0.25)));
+        dto.setMedian(round(histogram.quantile(0.5)));
+        dto.setP75(round(histogram.quantile(0.75)));
+        dto.setP90(round(histogram.quantile(0.9)));
+        List<Long> buckets = new ArrayList<>();
+        for (long count : histogram.coarseCounts(DISPLAY_BINS)) {
+            buckets.add(count);
+        }
+        dto.setBuckets(buckets);
+        return dto;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,387 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.dto.StudentDto;
+import com.example.Student_Management_System.dto.StudentImportRejectionDto;
+import com.example.Student_Management_System.dto.StudentImportSummaryDto;
+import com.example.Student_Management_System.entity.Student;
+import com.example.Student_Management_System.event.StudentsChangedEvent;
+import com.example.Student_Management_System.exception.BadRequestException;
+import com.example.Student_Management_System.exception.ConflictException;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import com.example.Student_Management_System.repo.EnrollmentJdbcRepository;
+import com.example.Student_Management_System.repo.StudentJdbcRepository;
+import com.example.Student_Management_System.repo.StudentRepository;
+import com.example.Student_Management_System.repo.SubjectRepository;
+import com.example.Student_Management_System.service.StudentImportService;
+import com.example.Student_Management_System.service.UploadFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams a student intake into the database. Each chunk is validated and
+ * checked for duplicate roll numbers and emails, its passwords are hashed on
+ * the bounded {@code passwordHashExecutor} pool outside any transaction, and
+ * then students plus their year-based enrollments are written with JDBC
+ * batches in one short transaction per chunk.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    // Finished imports stay pollable for a while, then are dropped
+    private static final long FINISHED_RETENTION_MILLIS = 10 * 60 * 1000L;
+
+    private final StudentRepository studentRepository;
+    private final SubjectRepository subjectRepository;
+    private final StudentJdbcRepository studentJdbcRepository;
+    private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor hashExecutor;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    private final Map<String, Progress> imports = new ConcurrentHashMap<>();
+
+    public StudentImportServiceImpl(StudentRepository studentRepository,
+            SubjectRepository subjectRepository,
+            StudentJdbcRepository studentJdbcRepository,
+            EnrollmentJdbcRepository enrollmentJdbcRepository,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("passwordHashExecutor") Executor hashExecutor,
+            PlatformTransactionManager transactionManager,
+            @Value("${students.import.chunk-size:500}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.subjectRepository = subjectRepository;
+        this.studentJdbcRepository = studentJdbcRepository;
+        this.enrollmentJdbcRepository = enrollmentJdbcRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.hashExecutor = hashExecutor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public StudentImportSummaryDto importStudents(String importId, Reader source, UploadFormat format) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+        long now = System.currentTimeMillis();
+        imports.values().removeIf(p -> p.finishedBefore(now - FINISHED_RETENTION_MILLIS));
+        Progress progress = new Progress(id);
+        if (imports.putIfAbsent(id, progress) != null) {
+            throw new ConflictException("An import with id " + id + " already exists");
+        }
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int rowIndex = 0;
+        CsvLayout csvLayout = null;
+
+        try (BufferedReader reader = new BufferedReader(source)) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == UploadFormat.CSV && firstLine) {
+                    firstLine = false;
+                    csvLayout = CsvLayout.fromHeader(line);
+                    if (csvLayout != null) {
+                        continue;
+                    }
+                    csvLayout = CsvLayout.DEFAULT;
+                }
+
+                StudentDto student;
+                try {
+                    student = format == UploadFormat.CSV ? csvLayout.parse(line)
+                            : objectMapper.readValue(line, StudentDto.class);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    progress.read(1);
+                    progress.reject(new StudentImportRejectionDto(rowIndex++, null,
+                            "Could not parse row: " + e.getMessage()));
+                    continue;
+                }
+
+                chunk.add(new Row(rowIndex++, student));
+                if (chunk.size() == chunkSize) {
+                    commit(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commit(chunk, progress);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read upload: " + e.getMessage());
+        } finally {
+            progress.finish();
+        }
+        return progress.toSummary();
+    }
+
+    @Override
+    public StudentImportSummaryDto getProgress(String importId) {
+        Progress progress = imports.get(importId);
+        if (progress == null) {
+            throw new ResourceNotFoundException("No student import with id " + importId);
+        }
+        return progress.toSummary();
+    }
+
+    private void commit(List<Row> chunk, Progress progress) {
+        progress.read(chunk.size());
+
+        // Field checks, then duplicates within the upload, then against the
+        // database (one query per column)
+        List<Row> valid = new ArrayList<>();
+        for (Row row : chunk) {
+            String problem = validate(row.student());
+            if (problem == null && !progress.seenRollNos.add(row.student().getRollNo())) {
+                problem = "Duplicate roll number in upload";
+            }
+            if (problem == null && !progress.seenEmails.add(emailKey(row.student().getEmail()))) {
+                problem = "Duplicate email in upload";
+            }
+            if (problem != null) {
+                progress.reject(row, problem);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        Set<String> takenRollNos = new HashSet<>(studentRepository.findExistingRollNos(
+                valid.stream().map(r -> r.student().getRollNo()).toList()));
+        Set<String> takenEmails = new HashSet<>();
+        for (String email : studentRepository.findExistingEmails(
+                valid.stream().map(r -> r.student().getEmail()).toList())) {
+            takenEmails.add(emailKey(email));
+        }
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : valid) {
+            if (takenRollNos.contains(row.student().getRollNo())) {
+                progress.reject(row, "Student already exists with rollNo " + row.student().getRollNo());
+            } else if (takenEmails.contains(emailKey(row.student().getEmail()))) {
+                progress.reject(row, "Student already exists with email " + row.student().getEmail());
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost; run it in parallel before opening the
+        // transaction so no connection is held while hashing
+        List<CompletableFuture<String>> hashes = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+            String raw = row.student().getPassword();
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(raw), hashExecutor));
+        }
+        List<Student> students = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            StudentDto dto = accepted.get(i).student();
+            Student student = new Student();
+            student.setRollNo(dto.getRollNo());
+            student.setName(dto.getName());
+            student.setEmail(dto.getEmail());
+            student.setDepartment(dto.getDepartment());
+            student.setYear(dto.getYear());
+            student.setPassword(hashes.get(i).join());
+            students.add(student);
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> insert(students));
+            progress.imported(accepted.size());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create took one of the keys and the chunk rolled
+            // back; retry its rows one transaction each so only the rows that
+            // conflict are lost
+            int inserted = 0;
+            for (int i = 0; i < accepted.size(); i++) {
+                List<Student> single = List.of(students.get(i));
+                try {
+                    transaction.executeWithoutResult(status -> insert(single));
+                    inserted++;
+                } catch (DataIntegrityViolationException rowConflict) {
+                    progress.reject(accepted.get(i), "Not imported: roll number or email was taken concurrently");
+                }
+            }
+            if (inserted > 0) {
+                progress.imported(inserted);
+            }
+        }
+    }
+
+    private void insert(List<Student> students) {
+        List<Long> ids = studentJdbcRepository.insertAll(students);
+
+        // Automatic year-based enrollment, one subject lookup per distinct year
+        Map<Integer, List<Long>> subjectsByYear = new HashMap<>();
+        List<EnrollmentJdbcRepository.Row> enrollments = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            List<Long> subjectIds = subjectsByYear.computeIfAbsent(students.get(i).getYear(),
+                    subjectRepository::findIdsByYear);
+            for (Long subjectId : subjectIds) {
+                enrollments.add(new EnrollmentJdbcRepository.Row(ids.get(i), subjectId));
+            }
+        }
+        enrollmentJdbcRepository.insertAll(enrollments);
+        eventPublisher.publishEvent(new StudentsChangedEvent(new HashSet<>(ids)));
+    }
+
+    // Same rules as the single-student form, except the password is required
+    private static String validate(StudentDto dto) {
+        if (isBlank(dto.getRollNo())) {
+            return "Roll number is required";
+        }
+        if (isBlank(dto.getName())) {
+            return "Name is required";
+        }
+        if (isBlank(dto.getEmail()) || !dto.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        if (isBlank(dto.getDepartment())) {
+            return "Department is required";
+        }
+        if (dto.getYear() == null || dto.getYear() < 1) {
+            return "Year must be at least 1";
+        }
+        if (isBlank(dto.getPassword())) {
+            return "Password is required";
+        }
+        return null;
+    }
+
+    // Emails are unique regardless of case (MySQL's default collation), so the
+    // duplicate checks compare them in this form
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row(int rowIndex, StudentDto student) {
+    }
+
+    // Shared between the importing thread and progress polls
+    private static final class Progress {
+
+        private final String importId;
+        private final Set<String> seenRollNos = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<StudentImportRejectionDto> rejections = new ArrayList<>();
+        private int rowsRead;
+        private int imported;
+        private int rejected;
+        private int chunks;
+        private long finishedAt;
+
+        private Progress(String importId) {
+            this.importId = importId;
+        }
+
+        private synchronized void read(int rows) {
+            rowsRead += rows;
+        }
+
+        private synchronized void imported(int rows) {
+            imported += rows;
+            chunks++;
+        }
+
+        private void reject(Row row, String message) {
+            reject(new StudentImportRejectionDto(row.rowIndex(), row.student().getRollNo(), message));
+        }
+
+        private synchronized void reject(StudentImportRejectionDto rejection) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+
+        private synchronized void finish() {
+            finishedAt = System.currentTimeMillis();
+        }
+
+        private synchronized boolean finishedBefore(long cutoff) {
+            return finishedAt != 0 && finishedAt < cutoff;
+        }
+
+        private synchronized StudentImportSummaryDto toSummary() {
+            StudentImportSummaryDto summary = new StudentImportSummaryDto();
+            summary.setImportId(importId);
+            summary.setCompleted(finishedAt != 0);
+            summary.setRowsRead(rowsRead);
+            summary.setImportedRows(imported);
+            summary.setRejectedRows(rejected);
+            summary.setChunksCommitted(chunks);
+            summary.setRejections(new ArrayList<>(rejections));
+            return summary;
+        }
+    }
+
+    // Column positions; a header row may reorder them
+    private record CsvLayout(int rollNo, int name, int email, int department, int year, int password) {
+
+        static final CsvLayout DEFAULT = new CsvLayout(0, 1, 2, 3, 4, 5);
+
+        // Null when the line is data rather than a header
+        static CsvLayout fromHeader(String line) {
+            Map<String, Integer> header = CsvLines.header(line);
+            CsvLayout layout = new CsvLayout(CsvLines.position(header, "rollno"), CsvLines.position(header, "name"),
+                    CsvLines.position(header, "email"), CsvLines.position(header, "department"),
+                    CsvLines.position(header, "year"), CsvLines.position(header, "password"));
+            if (layout.rollNo < 0) {
+                return null;
+            }
+            if (layout.name < 0 || layout.email < 0 || layout.department < 0 || layout.year < 0
+                    || layout.password < 0) {
+                throw new BadRequestException(
+                        "CSV header must name rollNo, name, email, department, year and password columns");
+            }
+            return layout;
+        }
+
+        StudentDto parse(String line) {
+            int last = Math.max(Math.max(Math.max(rollNo, name), Math.max(email, department)),
+                    Math.max(year, password));
+            String[] columns = CsvLines.split(line, last, "rollNo, name, email, department, year and password");
+            StudentDto dto = new StudentDto();
+            dto.setRollNo(columns[rollNo]);
+            dto.setName(columns[name]);
+            dto.setEmail(columns[email]);
+            dto.setDepartment(columns[department]);
+            // NumberFormatException is an IllegalArgumentException
+            dto.setYear(Integer.valueOf(columns[year]));
+            dto.setPassword(columns[password]);
+            return dto;
+        }
+    }
+}
@@ -1,21 +1,32 @@
 package com.example.Student_Management_System.service.impl;
 
+import com.example.Student_Management_System.analytics.PerformanceAccumulator;
+import com.example.Student_Management_System.analytics.ResultChange;
 import com.example.Student_Management_System.dto.StudentDto;
 import com.example.Student_Management_System.dto.StudentPerformanceDto;
-import com.example.Student_Management_System.entity.Enrollment;
+import com.example.Student_Management_System.entity.PerformanceScope;
 import com.example.Student_Management_System.entity.Student;
-import com.example.Student_Management_System.entity.Subject;
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
+import com.example.Student_Management_System.event.StudentsChangedEvent;
 import com.example.Student_Management_System.exception.ResourceNotFoundException;
 import com.example.Student_Management_System.repo.EnrollmentRepository;
 import com.example.Student_Management_System.repo.StudentRepository;
 import com.example.Student_Management_System.repo.SubjectRepository;
 import com.example.Student_Management_System.repo.ExamResultRepository;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.service.EnrollmentSyncService;
+import com.example.Student_Management_System.service.PerformanceStatService;
 import com.example.Student_Management_System.service.StudentService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,117 +36,86 @@ public class StudentServiceImpl implements StudentService {
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentSyncService enrollmentSyncService;
     private final ExamResultRepository examResultRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PerformanceStatRepository performanceStatRepository;
+    private final PerformanceStatService performanceStatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public StudentServiceImpl(StudentRepository studentRepository,
             SubjectRepository subjectRepository,
             EnrollmentRepository enrollmentRepository,
+            EnrollmentSyncService enrollmentSyncService,
             ExamResultRepository examResultRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            PerformanceStatRepository performanceStatRepository,
+            PerformanceStatService performanceStatService,
+            ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.subjectRepository = subjectRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentSyncService = enrollmentSyncService;
         this.examResultRepository = examResultRepository;
         this.passwordEncoder = passwordEncoder;
+        this.performanceStatRepository = performanceStatRepository;
+        this.performanceStatService = performanceStatService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public StudentDto createStudent(StudentDto dto) {
+        requireSubjectsExist(dto.getSubjectIds());
         Student student = new Student();
         mapToEntity(dto, student);
         Student saved = studentRepository.save(student);
 
-        if (dto.getSubjectIds() != null) {
-            for (Long subjectId : dto.getSubjectIds()) {
-                Subject subject = subjectRepository.findById(subjectId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id " + subjectId));
-
-                // Only allow subjects from the same year
-                if (subject.getYear().equals(saved.getYear())) {
-                    // Guard against duplicate enrollment
-                    if (enrollmentRepository.findByStudentAndSubject(saved, subject).isEmpty()) {
-                        Enrollment e = new Enrollment();
-                        e.setStudent(saved);
-                        e.setSubject(subject);
-                        enrollmentRepository.save(e);
-                    }
-                }
-            }
-        }
+        // Automatic year-based enrollment; selected subjects of other years are
+        // not kept
+        Set<Long> subjectIds = enrollmentSyncService.syncToYear(saved.getId(), saved.getYear());
 
-        // Automatic year-based enrollment
-        syncYearBasedEnrollments(saved);
-
-        // Re-fetch to return accurate DTO with all enrollments
-        Student fresh = studentRepository.findByRollNo(saved.getRollNo())
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found after creation"));
-        return mapToDto(fresh);
+        eventPublisher.publishEvent(new StudentsChangedEvent(Set.of(saved.getId())));
+        return mapToDto(saved, subjectIds);
     }
 
     @Override
     public StudentDto updateStudent(String rollNo, StudentDto dto) {
         Student student = studentRepository.findByRollNo(rollNo)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with rollNo " + rollNo));
+        requireSubjectsExist(dto.getSubjectIds());
+        String previousEmail = student.getEmail();
+        String previousRollNo = student.getRollNo();
+        String previousName = student.getName();
         mapToEntity(dto, student);
         studentRepository.save(student);
+        publishIfLoginChanged(previousEmail, previousRollNo, previousName, dto);
 
-        // Update Enrollments using repository directly (more reliable than modifying
-        // the in-memory collection)
-        if (dto.getSubjectIds() != null) {
-            // Get current enrollments from DB
-            List<Enrollment> currentEnrollments = enrollmentRepository.findByStudent(student);
-            List<Long> newSubjectIds = dto.getSubjectIds();
-
-            // Delete enrollments whose subject is no longer in the list
-            for (Enrollment e : currentEnrollments) {
-                if (!newSubjectIds.contains(e.getSubject().getId())) {
-                    enrollmentRepository.delete(e);
-                }
-            }
-
-            // Add enrollments for newly selected subjects
-            List<Long> currentSubjectIds = currentEnrollments.stream()
-                    .map(e -> e.getSubject().getId())
-                    .collect(Collectors.toList());
-
-            for (Long subjectId : newSubjectIds) {
-                if (!currentSubjectIds.contains(subjectId)) {
-                    Subject subject = subjectRepository.findById(subjectId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id " + subjectId));
-
-                    // Only allow subjects from the same year
-                    if (subject.getYear().equals(student.getYear())) {
-                        // Check there's no duplicate enrollment (due to syncYearBased or race)
-                        if (enrollmentRepository.findByStudentAndSubject(student, subject).isEmpty()) {
-                            Enrollment e = new Enrollment();
-                            e.setStudent(student);
-                            e.setSubject(subject);
-                            enrollmentRepository.save(e);
-                        }
-                    }
-                }
-            }
-            enrollmentRepository.flush();
-        }
-
-        // Automatic year-based enrollment (adds subjects for the student's year if not
-        // already enrolled)
-        syncYearBasedEnrollments(student);
+        // Enrollments always end up as the subjects of the student's (possibly
+        // new) year: one diff, at most one DELETE and one insert batch
+        Set<Long> subjectIds = enrollmentSyncService.syncToYear(student.getId(), student.getYear());
 
-        // Re-fetch fresh student to return accurate DTO with updated enrollments
-        Student fresh = studentRepository.findByRollNo(rollNo)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with rollNo " + rollNo));
-        return mapToDto(fresh);
+        eventPublisher.publishEvent(new StudentsChangedEvent(Set.of(student.getId())));
+        return mapToDto(student, subjectIds);
     }
 
     @Override
     public void deleteStudent(String rollNo) {
-        Student student = studentRepository.findByRollNo(rollNo)
+        Long studentId = studentRepository.findIdByRollNo(rollNo)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with rollNo " + rollNo));
-        // Delete exam results first to avoid FK constraint violation
-        examResultRepository.deleteAll(examResultRepository.findByStudent(student));
-        studentRepository.delete(student);
+        performanceStatService.applyChanges(examResultRepository.findRemovalsByStudentId(studentId)
+                .stream()
+                .map(ResultChange::removal)
+                .toList());
+        performanceStatService.deleteStats(PerformanceScope.STUDENT, studentId);
+        // Read before the row goes, to drop the student's cached logins
+        String email = studentRepository.findEmailById(studentId).orElseThrow();
+
+        // Children first to avoid FK constraint violations, one statement each
+        examResultRepository.deleteAllByStudentId(studentId);
+        enrollmentRepository.deleteAllByStudentId(studentId);
+        studentRepository.deleteStudentById(studentId);
+        eventPublisher.publishEvent(new StudentsChangedEvent(Set.of(studentId)));
+        eventPublisher.publishEvent(new CredentialsChangedEvent(Set.of(email)));
     }
 
     @Override
@@ -161,34 +141,20 @@ public class StudentServiceImpl implements StudentService {
         Student student = studentRepository.findByRollNo(rollNo)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with rollNo " + rollNo));
 
-        List<com.example.Student_Management_System.entity.ExamResult> results = examResultRepository
-                .findByStudent(student);
-
-        List<Double> percentages = results.stream()
-                .filter(r -> r.getMarksObtained() != null)
-                .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                .toList();
-
-        if (percentages.isEmpty()) {
-            StudentPerformanceDto dto = new StudentPerformanceDto();
-            dto.setStudentId(student.getId());
-            dto.setStudentRollNo(student.getRollNo());
-            dto.setStudentName(student.getName());
-            dto.setAverageMarks(0.0);
-            dto.setPassPercentage(0.0);
-            return dto;
-        }
-
-        double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-        long passCount = percentages.stream().filter(p -> p >= 40).count();
-        double passPercentage = passCount * 100.0 / percentages.size();
-
+        // Read the maintained aggregate instead of scanning the student's results
         StudentPerformanceDto dto = new StudentPerformanceDto();
         dto.setStudentId(student.getId());
         dto.setStudentRollNo(student.getRollNo());
         dto.setStudentName(student.getName());
-        dto.setAverageMarks(avgPct);
-        dto.setPassPercentage(passPercentage);
+
+        PerformanceAccumulator stats = performanceStatRepository
+                .findByScopeAndScopeId(PerformanceScope.STUDENT, student.getId())
+                .map(s -> PerformanceAccumulator.ofTotals(s.getPercentageSum(), s.getResultCount(),
+                        s.getPassCount(), s.getDistinctionCount()))
+                .orElseGet(PerformanceAccumulator::new);
+
+        dto.setAverageMarks(stats.average());
+        dto.setPassPercentage(stats.passPercentage());
         return dto;
     }
 
@@ -204,6 +170,14 @@ public class StudentServiceImpl implements StudentService {
     }
 
     private StudentDto mapToDto(Student student) {
+        return mapToDto(student, student.getEnrollments().stream()
+                .map(e -> e.getSubject().getId())
+                .collect(Collectors.toList()));
+    }
+
+    // Enrollments passed in when already known (just synced) instead of
+    // reloading the collection
+    private StudentDto mapToDto(Student student, Collection<Long> subjectIds) {
         StudentDto dto = new StudentDto();
         dto.setId(student.getId());
         dto.setRollNo(student.getRollNo());
@@ -212,37 +186,31 @@ public class StudentServiceImpl implements StudentService {
         dto.setDepartment(student.getDepartment());
         dto.setYear(student.getYear());
         // For security, do NOT set password in DTO that goes back to client
-        dto.setSubjectIds(student.getEnrollments().stream()
-                .map(e -> e.getSubject().getId())
-                .collect(Collectors.toList()));
+        dto.setSubjectIds(subjectIds.stream().sorted().collect(Collectors.toList()));
         return dto;
     }
 
-    private void syncYearBasedEnrollments(Student student) {
-        List<Subject> allYearSubjects = subjectRepository.findByYear(student.getYear());
-        List<Enrollment> currentEnrollments = enrollmentRepository.findByStudent(student);
-
-        // 1. Remove enrollments for subjects that are NOT in the student's current year
-        for (Enrollment e : currentEnrollments) {
-            if (!e.getSubject().getYear().equals(student.getYear())) {
-                enrollmentRepository.delete(e);
-            }
+    // Cached logins and issued tokens under the old email carry the password,
+    // roll number and name; any of them changing invalidates those
+    private void publishIfLoginChanged(String previousEmail, String previousRollNo, String previousName,
+            StudentDto dto) {
+        boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
+        if (passwordChanged || !Objects.equals(previousEmail, dto.getEmail())
+                || !Objects.equals(previousRollNo, dto.getRollNo()) || !Objects.equals(previousName, dto.getName())) {
+            eventPublisher.publishEvent(new CredentialsChangedEvent(Set.of(previousEmail)));
         }
-        enrollmentRepository.flush();
-
-        // 2. Add subjects for the student's current year if missing
-        List<Long> currentSubjectIds = enrollmentRepository.findByStudent(student).stream()
-                .map(e -> e.getSubject().getId())
-                .collect(Collectors.toList());
+    }
 
-        for (Subject subject : allYearSubjects) {
-            if (!currentSubjectIds.contains(subject.getId())) {
-                if (enrollmentRepository.findByStudentAndSubject(student, subject).isEmpty()) {
-                    Enrollment e = new Enrollment();
-                    e.setStudent(student);
-                    e.setSubject(subject);
-                    enrollmentRepository.save(e);
-                }
+    // Selected subject ids must exist, even though enrollment follows the year
+    private void requireSubjectsExist(List<Long> subjectIds) {
+        if (subjectIds == null || subjectIds.isEmpty()) {
+            return;
+        }
+        Set<Long> requested = new HashSet<>(subjectIds);
+        Set<Long> found = new HashSet<>(subjectRepository.findExistingIds(requested));
+        for (Long subjectId : requested) {
+            if (!found.contains(subjectId)) {
+                throw new ResourceNotFoundException("Subject not found with id " + subjectId);
             }
         }
     }
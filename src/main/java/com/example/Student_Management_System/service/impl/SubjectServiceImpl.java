@@ -1,20 +1,34 @@
 package com.example.Student_Management_System.service.impl;
 
+import com.example.Student_Management_System.analytics.PerformanceAccumulator;
+import com.example.Student_Management_System.analytics.ResultChange;
 import com.example.Student_Management_System.dto.SubjectDto;
 import com.example.Student_Management_System.dto.SubjectPerformanceDto;
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.entity.ExamResult;
+import com.example.Student_Management_System.entity.PerformanceScope;
 import com.example.Student_Management_System.entity.Subject;
 import com.example.Student_Management_System.entity.Teacher;
+import com.example.Student_Management_System.event.SubjectsChangedEvent;
+import com.example.Student_Management_System.event.TeachersChangedEvent;
 import com.example.Student_Management_System.exception.ResourceNotFoundException;
 import com.example.Student_Management_System.repo.SubjectRepository;
 import com.example.Student_Management_System.repo.TeacherRepository;
 import com.example.Student_Management_System.repo.ExamRepository;
 import com.example.Student_Management_System.repo.ExamResultRepository;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.PerformanceSummary;
+import com.example.Student_Management_System.service.PerformanceStatService;
 import com.example.Student_Management_System.service.SubjectService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,15 +39,24 @@ public class SubjectServiceImpl implements SubjectService {
     private final TeacherRepository teacherRepository;
     private final ExamRepository examRepository;
     private final ExamResultRepository examResultRepository;
+    private final PerformanceStatRepository performanceStatRepository;
+    private final PerformanceStatService performanceStatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SubjectServiceImpl(SubjectRepository subjectRepository,
             TeacherRepository teacherRepository,
             ExamRepository examRepository,
-            ExamResultRepository examResultRepository) {
+            ExamResultRepository examResultRepository,
+            PerformanceStatRepository performanceStatRepository,
+            PerformanceStatService performanceStatService,
+            ApplicationEventPublisher eventPublisher) {
         this.subjectRepository = subjectRepository;
         this.teacherRepository = teacherRepository;
         this.examRepository = examRepository;
         this.examResultRepository = examResultRepository;
+        this.performanceStatRepository = performanceStatRepository;
+        this.performanceStatService = performanceStatService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,6 +74,7 @@ public class SubjectServiceImpl implements SubjectService {
         }
 
         Subject saved = subjectRepository.save(subject);
+        eventPublisher.publishEvent(new SubjectsChangedEvent(Set.of(saved.getId())));
         return mapToDto(saved);
     }
 
@@ -61,6 +85,7 @@ public class SubjectServiceImpl implements SubjectService {
         subject.setSubjectName(dto.getSubjectName());
         subject.setSubjectCode(dto.getSubjectCode());
         subject.setYear(dto.getYear());
+        Long oldTeacherId = subject.getAssignedTeacher() != null ? subject.getAssignedTeacher().getId() : null;
 
         if (dto.getAssignedTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(dto.getAssignedTeacherId())
@@ -72,15 +97,30 @@ public class SubjectServiceImpl implements SubjectService {
         }
 
         Subject saved = subjectRepository.save(subject);
+        performanceStatService.reassignSubject(saved.getId(), oldTeacherId, dto.getAssignedTeacherId());
+        eventPublisher.publishEvent(new SubjectsChangedEvent(Set.of(saved.getId())));
+        publishTeacherChange(oldTeacherId, dto.getAssignedTeacherId());
         return mapToDto(saved);
     }
 
     @Override
     public void deleteSubject(Long id) {
-        if (!subjectRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Subject not found with id " + id);
+        Subject subject = subjectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id " + id));
+
+        // Exams and their results are removed by cascade; take them out of the
+        // student and teacher aggregates first
+        List<Exam> exams = examRepository.findBySubject(subject);
+        List<ResultChange> changes = new ArrayList<>();
+        for (ExamResult result : examResultRepository.findByExamIn(exams)) {
+            changes.add(ResultChange.of(result.getExam(), result.getStudent().getId(), result.getMarksObtained(),
+                    null));
         }
-        subjectRepository.deleteById(id);
+        performanceStatService.applyChanges(changes);
+        performanceStatService.deleteStats(PerformanceScope.SUBJECT, id);
+
+        subjectRepository.delete(subject);
+        eventPublisher.publishEvent(new SubjectsChangedEvent(Set.of(id)));
     }
 
     @Override
@@ -106,47 +146,47 @@ public class SubjectServiceImpl implements SubjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id " + subjectId));
         Teacher teacher = teacherRepository.findById(teacherId)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id " + teacherId));
+        Long oldTeacherId = subject.getAssignedTeacher() != null ? subject.getAssignedTeacher().getId() : null;
         subject.setAssignedTeacher(teacher);
         Subject saved = subjectRepository.save(subject);
+        performanceStatService.reassignSubject(subjectId, oldTeacherId, teacherId);
+        publishTeacherChange(oldTeacherId, teacherId);
         return mapToDto(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SubjectPerformanceDto> getAllSubjectPerformance() {
-        List<Subject> subjects = subjectRepository.findAll();
         List<SubjectPerformanceDto> result = new ArrayList<>();
 
-        for (Subject subject : subjects) {
-            List<com.example.Student_Management_System.entity.Exam> exams = examRepository.findBySubject(subject);
-            List<com.example.Student_Management_System.entity.ExamResult> results = examResultRepository
-                    .findByExamIn(exams);
-
-            List<Double> percentages = results.stream()
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
+        for (PerformanceSummary summary : performanceStatRepository.findSubjectSummaries(PerformanceScope.SUBJECT)) {
             SubjectPerformanceDto dto = new SubjectPerformanceDto();
-            dto.setSubjectId(subject.getId());
-            dto.setSubjectName(subject.getSubjectName());
-
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                long distinction = percentages.stream().filter(p -> p >= 75).count();
-                dto.setAverageMarks(avgPct);
-                dto.setPassPercentage(pass * 100.0 / percentages.size());
-                dto.setDistinctionCount(distinction);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-                dto.setDistinctionCount(0L);
-            }
+            dto.setSubjectId(summary.getGroupId());
+            dto.setSubjectName(summary.getGroupName());
+
+            PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+            dto.setAverageMarks(stats.average());
+            dto.setPassPercentage(stats.passPercentage());
+            dto.setDistinctionCount(stats.distinctionCount());
             result.add(dto);
         }
         return result;
     }
 
+    private void publishTeacherChange(Long oldTeacherId, Long newTeacherId) {
+        if (Objects.equals(oldTeacherId, newTeacherId)) {
+            return;
+        }
+        Set<Long> teacherIds = new HashSet<>();
+        if (oldTeacherId != null) {
+            teacherIds.add(oldTeacherId);
+        }
+        if (newTeacherId != null) {
+            teacherIds.add(newTeacherId);
+        }
+        eventPublisher.publishEvent(new TeachersChangedEvent(teacherIds));
+    }
+
     private SubjectDto mapToDto(Subject subject) {
         SubjectDto dto = new SubjectDto();
         dto.setId(subject.getId());
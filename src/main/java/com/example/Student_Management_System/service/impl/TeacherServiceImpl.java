@@ -1,17 +1,23 @@
 package com.example.Student_Management_System.service.impl;
 
+import com.example.Student_Management_System.analytics.PerformanceAccumulator;
 import com.example.Student_Management_System.dto.TeacherDto;
 import com.example.Student_Management_System.dto.TeacherPerformanceDto;
-import com.example.Student_Management_System.entity.Exam;
-import com.example.Student_Management_System.entity.ExamResult;
+import com.example.Student_Management_System.entity.PerformanceScope;
 import com.example.Student_Management_System.entity.Subject;
 import com.example.Student_Management_System.entity.Teacher;
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
+import com.example.Student_Management_System.event.TeachersChangedEvent;
 import com.example.Student_Management_System.exception.ResourceNotFoundException;
 import com.example.Student_Management_System.repo.ExamRepository;
 import com.example.Student_Management_System.repo.ExamResultRepository;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.PerformanceSummary;
 import com.example.Student_Management_System.repo.SubjectRepository;
 import com.example.Student_Management_System.repo.TeacherRepository;
+import com.example.Student_Management_System.service.PerformanceStatService;
 import com.example.Student_Management_System.service.TeacherService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,17 +37,26 @@ public class TeacherServiceImpl implements TeacherService {
     private final ExamResultRepository examResultRepository;
     private final SubjectRepository subjectRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PerformanceStatRepository performanceStatRepository;
+    private final PerformanceStatService performanceStatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TeacherServiceImpl(TeacherRepository teacherRepository,
             ExamRepository examRepository,
             ExamResultRepository examResultRepository,
             SubjectRepository subjectRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            PerformanceStatRepository performanceStatRepository,
+            PerformanceStatService performanceStatService,
+            ApplicationEventPublisher eventPublisher) {
         this.teacherRepository = teacherRepository;
         this.examRepository = examRepository;
         this.examResultRepository = examResultRepository;
         this.subjectRepository = subjectRepository;
         this.passwordEncoder = passwordEncoder;
+        this.performanceStatRepository = performanceStatRepository;
+        this.performanceStatService = performanceStatService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -52,6 +68,7 @@ public class TeacherServiceImpl implements TeacherService {
             teacher.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
         Teacher saved = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(new TeachersChangedEvent(Set.of(saved.getId())));
         return mapToDto(saved);
     }
 
@@ -59,30 +76,37 @@ public class TeacherServiceImpl implements TeacherService {
     public TeacherDto updateTeacher(Long id, TeacherDto dto) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id " + id));
+        String previousEmail = teacher.getEmail();
+        String previousName = teacher.getName();
+        boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
         teacher.setName(dto.getName());
         teacher.setEmail(dto.getEmail());
-        if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
+        if (passwordChanged) {
             teacher.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
         Teacher saved = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(new TeachersChangedEvent(Set.of(saved.getId())));
+        // Cached logins and issued tokens under the old email must not outlive a
+        // new password, email or display name
+        if (passwordChanged || !Objects.equals(previousEmail, dto.getEmail())
+                || !Objects.equals(previousName, dto.getName())) {
+            eventPublisher.publishEvent(new CredentialsChangedEvent(Set.of(previousEmail)));
+        }
         return mapToDto(saved);
     }
 
     @Override
     public void deleteTeacher(Long id) {
-        Teacher teacher = teacherRepository.findById(id)
+        String email = teacherRepository.findEmailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id " + id));
 
-        // Unassign teacher from all subjects to avoid FK constraint violation
-        List<Subject> assignedSubjects = teacher.getSubjects();
-        for (Subject subject : assignedSubjects) {
-            subject.setAssignedTeacher(null);
-            subjectRepository.save(subject);
-        }
-        // Flush the unassignment before deletion
-        subjectRepository.flush();
-
-        teacherRepository.deleteById(id);
+        // Unassign teacher from all subjects in one UPDATE to avoid FK constraint
+        // violation
+        performanceStatService.deleteStats(PerformanceScope.TEACHER, id);
+        subjectRepository.unassignTeacher(id);
+        teacherRepository.deleteTeacherById(id);
+        eventPublisher.publishEvent(new TeachersChangedEvent(Set.of(id)));
+        eventPublisher.publishEvent(new CredentialsChangedEvent(Set.of(email)));
     }
 
     @Override
@@ -105,40 +129,18 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     @Transactional(readOnly = true)
     public List<TeacherPerformanceDto> getAllTeacherPerformance() {
-        List<Teacher> teachers = teacherRepository.findAll();
         List<TeacherPerformanceDto> result = new ArrayList<>();
 
-        for (Teacher teacher : teachers) {
-            List<Subject> subjects = teacher.getSubjects();
-            List<Exam> exams = examRepository.findBySubjectIn(subjects);
-            List<ExamResult> results = examResultRepository.findByExamIn(exams);
-
-            List<Double> percentages = results.stream()
-                    .filter(r -> r.getMarksObtained() != null)
-                    .map(r -> (r.getMarksObtained() * 100.0) / r.getExam().getMaxMarks())
-                    .toList();
-
+        for (PerformanceSummary summary : performanceStatRepository.findTeacherSummaries(PerformanceScope.TEACHER)) {
             TeacherPerformanceDto dto = new TeacherPerformanceDto();
-            dto.setTeacherId(teacher.getId());
-            dto.setTeacherName(teacher.getName());
-
-            if (!percentages.isEmpty()) {
-                double avgPct = percentages.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                long pass = percentages.stream().filter(p -> p >= 40).count();
-                long distinction = percentages.stream().filter(p -> p >= 75).count();
-                double passPct = pass * 100.0 / percentages.size();
-
-                dto.setAverageMarks(avgPct);
-                dto.setPassPercentage(passPct);
-                dto.setDistinctionCount(distinction);
-                dto.setPerformanceScore(
-                        avgPct * 0.6 + passPct * 0.3 + (distinction * 100.0 / percentages.size()) * 0.1);
-            } else {
-                dto.setAverageMarks(0.0);
-                dto.setPassPercentage(0.0);
-                dto.setDistinctionCount(0L);
-                dto.setPerformanceScore(0.0);
-            }
+            dto.setTeacherId(summary.getGroupId());
+            dto.setTeacherName(summary.getGroupName());
+
+            PerformanceAccumulator stats = PerformanceAccumulator.of(summary);
+            dto.setAverageMarks(stats.average());
+            dto.setPassPercentage(stats.passPercentage());
+            dto.setDistinctionCount(stats.distinctionCount());
+            dto.setPerformanceScore(stats.performanceScore());
             result.add(dto);
         }
         return result;
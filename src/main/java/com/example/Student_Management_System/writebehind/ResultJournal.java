@@ -0,0 +1,162 @@
+package com.example.Student_Management_System.writebehind;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of accepted marks, one JSON line per entry, split into
+ * numbered segment files. Appends are made durable by group commit: {@link
+ * #append} only writes and returns a ticket, and {@link #sync} waits until a
+ * force covering that ticket has completed. One caller's force covers every
+ * line written before it started, so concurrent submitters share a single
+ * fsync instead of queueing for one each.
+ *
+ * The directory is forced after a segment is created so the file itself
+ * survives a crash. The active segment is forced and closed on rotation; a
+ * closed segment is deleted by whoever drained its entries into the database.
+ * Entries that can never be applied are kept in a separate dead-letter file.
+ *
+ * Lock order is {@code syncLock} then {@code this}; appends only take
+ * {@code this}, so writing never waits for a force in progress.
+ */
+class ResultJournal {
+
+    private static final String PREFIX = "results-";
+    private static final String SUFFIX = ".journal";
+    private static final String DEAD_LETTER = "dead-letter.jsonl";
+
+    private final Path directory;
+    private long sequence;
+    private Path active;
+    private FileOutputStream out;
+    private long written; // lines appended so far; guarded by this
+
+    private final Object syncLock = new Object();
+    private long synced; // lines known to be on disk; guarded by syncLock
+
+    ResultJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        for (Path segment : listSegments()) {
+            sequence = Math.max(sequence, sequenceOf(segment));
+        }
+        open();
+    }
+
+    // Writes the line without forcing it; pass the returned ticket to sync
+    synchronized long append(String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        return ++written;
+    }
+
+    // Returns once the line with this ticket is on disk. Whoever holds
+    // syncLock forces everything written so far; callers queued behind it
+    // usually find their ticket already covered and return without a force
+    void sync(long ticket) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= ticket) {
+                return;
+            }
+            long target;
+            FileChannel channel;
+            synchronized (this) {
+                target = written;
+                channel = out.getChannel();
+            }
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    // Forces and closes the active segment, starts a new one and returns the
+    // closed one
+    Path rotate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path closed = active;
+                out.getChannel().force(false);
+                synced = written;
+                out.close();
+                open();
+                return closed;
+            }
+        }
+    }
+
+    // Keeps an entry that failed on its own, out of the replayed segments
+    synchronized void deadLetter(String line) throws IOException {
+        try (FileOutputStream deadLetters = new FileOutputStream(directory.resolve(DEAD_LETTER).toFile(), true)) {
+            deadLetters.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            deadLetters.getChannel().force(false);
+        }
+    }
+
+    // Closed segments in write order
+    synchronized List<Path> closedSegments() throws IOException {
+        List<Path> closed = new ArrayList<>();
+        for (Path segment : listSegments()) {
+            if (!segment.equals(active)) {
+                closed.add(segment);
+            }
+        }
+        return closed;
+    }
+
+    synchronized void delete(Collection<Path> segments) throws IOException {
+        for (Path segment : segments) {
+            if (!segment.equals(active)) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                out.getChannel().force(false);
+                synced = written;
+                out.close();
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        active = directory.resolve(String.format("%s%020d%s", PREFIX, ++sequence, SUFFIX));
+        out = new FileOutputStream(active.toFile(), true);
+        syncDirectory();
+    }
+
+    // Persists the directory entry of a newly created segment
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory as a channel; NTFS journals the
+            // directory entry itself
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
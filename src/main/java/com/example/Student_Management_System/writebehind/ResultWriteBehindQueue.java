@@ -0,0 +1,302 @@
+package com.example.Student_Management_System.writebehind;
+
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.exception.ConflictException;
+import com.example.Student_Management_System.exception.ResourceNotFoundException;
+import com.example.Student_Management_System.repo.ExamRepository;
+import com.example.Student_Management_System.repo.StudentRepository;
+import com.example.Student_Management_System.service.ExamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Optional write-behind path for single mark entries. A submitted mark is
+ * validated, appended to the local {@link ResultJournal} and acknowledged; a
+ * scheduled drainer then writes everything pending through the bulk path in
+ * one transaction, keeping only the latest mark per (exam, student). A
+ * journal segment is deleted only after every entry it carried has been
+ * applied, dropped as no longer valid, or moved to the dead-letter file. Segments left by a previous run are replayed while this bean is
+ * initialised, before the scheduler or the web server start.
+ */
+@Component
+public class ResultWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultWriteBehindQueue.class);
+
+    // Journal line; also the coalescing unit
+    record Entry(Long examId, Long studentId, Integer marksObtained) {
+    }
+
+    private record Key(Long examId, Long studentId) {
+    }
+
+    private final ExamService examService;
+    private final ExamRepository examRepository;
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final ResultJournal journal;
+
+    private final Object drainLock = new Object();
+    private Map<Key, Entry> pending = new LinkedHashMap<>(); // guarded by this
+    // Closed segments whose entries are in pending; guarded by this
+    private Set<Path> pendingSegments = new LinkedHashSet<>();
+
+    public ResultWriteBehindQueue(ExamService examService,
+            ExamRepository examRepository,
+            StudentRepository studentRepository,
+            ObjectMapper objectMapper,
+            @Value("${results.write-behind.enabled:false}") boolean enabled,
+            @Value("${results.write-behind.journal-dir:./data/results-journal}") String journalDir) {
+        this.examService = examService;
+        this.examRepository = examRepository;
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        try {
+            this.journal = enabled ? new ResultJournal(Paths.get(journalDir)) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open results journal in " + journalDir, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Validates against the exam and student like the synchronous path, then
+    // journals the mark; it reaches the database on the next drain
+    public void submit(ExamResultDto dto) {
+        Exam exam = examRepository.findById(dto.getExamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id " + dto.getExamId()));
+        if (dto.getMarksObtained() > exam.getMaxMarks()) {
+            throw new IllegalArgumentException(
+                    "Marks obtained (" + dto.getMarksObtained() + ") cannot exceed max marks (" + exam.getMaxMarks()
+                            + ")");
+        }
+        Long studentId;
+        if (dto.getStudentRollNo() != null && !dto.getStudentRollNo().isBlank()) {
+            studentId = studentRepository.findIdByRollNo(dto.getStudentRollNo())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Student not found with rollNo " + dto.getStudentRollNo()));
+        } else if (dto.getStudentId() != null && studentRepository.existsById(dto.getStudentId())) {
+            studentId = dto.getStudentId();
+        } else {
+            throw new ResourceNotFoundException("Student not found with id " + dto.getStudentId());
+        }
+
+        Entry entry = new Entry(exam.getId(), studentId, dto.getMarksObtained());
+        try {
+            String line = objectMapper.writeValueAsString(entry);
+            long ticket;
+            synchronized (this) {
+                ticket = journal.append(line);
+                pending.put(new Key(entry.examId(), entry.studentId()), entry);
+            }
+            // Outside the monitor, so concurrent submitters share one fsync
+            journal.sync(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal result", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${results.write-behind.flush-interval-ms:1000}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (drainLock) {
+            Map<Key, Entry> batch;
+            Set<Path> batchSegments;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                Path closed;
+                try {
+                    closed = journal.rotate();
+                } catch (IOException e) {
+                    log.warn("Could not rotate results journal", e);
+                    return;
+                }
+                // Everything in the batch was journaled in these segments
+                batch = pending;
+                batchSegments = pendingSegments;
+                batchSegments.add(closed);
+                pending = new LinkedHashMap<>();
+                pendingSegments = new LinkedHashSet<>();
+            }
+
+            List<Entry> retry = apply(new ArrayList<>(batch.values()));
+            if (!retry.isEmpty()) {
+                // Requeue unless a newer mark for the same key arrived meanwhile; the
+                // segments stay on disk until a drain carrying them succeeds
+                synchronized (this) {
+                    for (Entry entry : retry) {
+                        pending.putIfAbsent(new Key(entry.examId(), entry.studentId()), entry);
+                    }
+                    pendingSegments.addAll(batchSegments);
+                }
+                return;
+            }
+            try {
+                journal.delete(batchSegments);
+            } catch (IOException e) {
+                // Replaying an already-applied segment rewrites the same marks
+                log.warn("Could not delete drained journal segments", e);
+            }
+        }
+    }
+
+    // Writes the entries in one transaction and returns those to retry on the
+    // next drain. If the batch fails as a whole, the entries are applied one at
+    // a time so a single bad row cannot hold back the rest: a row that fails on
+    // its own with a permanent error is dead-lettered, and a transient failure
+    // (database unavailable) stops the pass and requeues what is left
+    private List<Entry> apply(List<Entry> entries) {
+        List<Entry> retry = new ArrayList<>();
+        try {
+            collectOutcomes(entries, examService.addOrUpdateBulkResults(toRows(entries)), retry);
+            return retry;
+        } catch (RuntimeException e) {
+            log.warn("Draining {} journaled result(s) failed; retrying one at a time", entries.size(), e);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            try {
+                collectOutcomes(List.of(entry), examService.addOrUpdateBulkResults(toRows(List.of(entry))), retry);
+            } catch (RuntimeException e) {
+                if (!isPermanent(e)) {
+                    log.warn("Draining journaled results failed; will retry", e);
+                    retry.addAll(entries.subList(i, entries.size()));
+                    break;
+                }
+                deadLetter(entry, e);
+            }
+        }
+        return retry;
+    }
+
+    private void collectOutcomes(List<Entry> entries, List<BulkResultOutcomeDto> outcomes, List<Entry> retry) {
+        long rejected = 0;
+        long conflicted = 0;
+        for (BulkResultOutcomeDto outcome : outcomes) {
+            if (outcome.getStatus() == BulkResultOutcomeDto.Status.REJECTED) {
+                rejected++;
+            } else if (outcome.getStatus() == BulkResultOutcomeDto.Status.CONFLICT) {
+                // Another writer changed the row between read and write; journaled
+                // marks carry no version, so the next drain simply re-reads it
+                retry.add(entries.get(outcome.getRowIndex()));
+                conflicted++;
+            }
+        }
+        if (rejected > 0) {
+            // e.g. the exam or student was deleted after the mark was accepted
+            log.warn("Dropped {} journaled result(s) that no longer validate", rejected);
+        }
+        if (conflicted > 0) {
+            log.info("{} journaled result(s) conflicted with a concurrent write; will retry", conflicted);
+        }
+    }
+
+    // Constraint violations and application errors will fail the same way on
+    // every retry; other data access and transaction failures may not
+    private static boolean isPermanent(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return true;
+        }
+        return !(e instanceof DataAccessException || e instanceof TransactionException
+                || e instanceof ConflictException);
+    }
+
+    private void deadLetter(Entry entry, RuntimeException cause) {
+        log.error("Journaled result {} cannot be applied; moved to the dead-letter file", entry, cause);
+        try {
+            journal.deadLetter(objectMapper.writeValueAsString(entry));
+        } catch (IOException e) {
+            log.error("Could not dead-letter journaled result {}", entry, e);
+        }
+    }
+
+    private static List<ExamResultDto> toRows(List<Entry> entries) {
+        List<ExamResultDto> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ExamResultDto row = new ExamResultDto();
+            row.setExamId(entry.examId());
+            row.setStudentId(entry.studentId());
+            row.setMarksObtained(entry.marksObtained());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Loads segments left by a previous run and applies them before anything
+    // else can drain
+    @PostConstruct
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+        int entries = 0;
+        synchronized (this) {
+            try {
+                for (Path segment : journal.closedSegments()) {
+                    pendingSegments.add(segment);
+                    for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            Entry entry = objectMapper.readValue(line, Entry.class);
+                            // Later lines win
+                            pending.put(new Key(entry.examId(), entry.studentId()), entry);
+                            entries++;
+                        } catch (JsonProcessingException e) {
+                            // Torn final line from a crash mid-append
+                            log.warn("Skipping unreadable journal line in {}", segment);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not replay results journal", e);
+            }
+        }
+        if (entries > 0) {
+            log.info("Replaying {} journaled result(s)", entries);
+            drain();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        drain();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close results journal", e);
+        }
+    }
+}
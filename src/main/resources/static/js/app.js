@@ -4,10 +4,16 @@
 
 // ==================== STATE ====================
 let authToken = '';
+let authScheme = 'Basic'; // 'Bearer' once a signed token has been issued
+let tokenExpiresAt = 0; // epoch seconds; the token is renewed shortly before
+let sessionExpiresAt = 0; // epoch seconds; no renewal past this, sign in again
+let tokenRefreshTimer = null;
+let resumeAfterSignIn = false; // keep the open page when the same user signs back in
 let currentUser = { username: '', role: '', teacherId: null };
 let currentPage = 'dashboard';
 let currentEditId = null;
 let currentModalType = '';
+let bulkSubmissionKey = null; // per opened grading sheet; prefix of the bulk Idempotency-Key
 
 // Cache for data
 let studentsCache = [];
@@ -21,19 +27,26 @@ const API_BASE = '';
 function getHeaders() {
     return {
         'Content-Type': 'application/json',
-        'Authorization': 'Basic ' + authToken
+        'Authorization': authScheme + ' ' + authToken
     };
 }
 
-async function apiCall(url, method = 'GET', body = null) {
+async function apiCall(url, method = 'GET', body = null, extraHeaders = {}) {
     const options = {
         method,
-        headers: getHeaders()
+        headers: { ...getHeaders(), ...extraHeaders }
     };
     if (body) options.body = JSON.stringify(body);
 
     const response = await fetch(API_BASE + url, options);
 
+    if (response.status === 401 && authScheme === 'Bearer') {
+        // Renewal missed (tab asleep) or token revoked: ask for the password
+        // again without discarding what is on screen
+        sessionExpired();
+        throw new Error('Session expired, please sign in again');
+    }
+
     if (response.status === 401 || response.status === 403) {
         const text = await response.text();
         let msg = response.status === 401 ? 'Invalid credentials' : 'Access denied';
@@ -93,9 +106,14 @@ document.getElementById('login-form').addEventListener('submit', async (e) => {
 
     try {
         authToken = btoa(username + ':' + password);
+        authScheme = 'Basic';
 
-        // Use the /api/me endpoint to get proper role
-        const meData = await apiCall('/api/me');
+        // Exchange the credentials once for a signed token carrying the role;
+        // later calls skip the password check entirely
+        const meData = await apiCall('/api/token', 'POST');
+        const resume = resumeAfterSignIn && meData.username === currentUser.username;
+        resumeAfterSignIn = false;
+        applyToken(meData);
 
         currentUser = {
             username: meData.username,
@@ -105,14 +123,20 @@ document.getElementById('login-form').addEventListener('submit', async (e) => {
             rollNo: meData.rollNo || null
         };
 
-        sessionStorage.setItem('auth', authToken);
         sessionStorage.setItem('user', JSON.stringify(currentUser));
 
-        showApp();
+        if (resume) {
+            document.getElementById('login-page').style.display = 'none';
+            document.getElementById('app').style.display = 'flex';
+            showToast('Signed in again; unsaved changes are still on the page', 'success');
+        } else {
+            showApp();
+        }
     } catch (err) {
         errorDiv.textContent = err.message || 'Invalid username or password';
         errorDiv.style.display = 'block';
         authToken = '';
+        authScheme = 'Basic';
     } finally {
         btnText.style.display = 'inline';
         btnLoader.style.display = 'none';
@@ -120,8 +144,69 @@ document.getElementById('login-form').addEventListener('submit', async (e) => {
     }
 });
 
+// Stores a token response from /api/token or /api/token/refresh and plans
+// its renewal
+function applyToken(data) {
+    authToken = data.token;
+    authScheme = 'Bearer';
+    tokenExpiresAt = data.expiresAt;
+    sessionExpiresAt = data.sessionExpiresAt;
+    sessionStorage.setItem('auth', authToken);
+    sessionStorage.setItem('authScheme', authScheme);
+    sessionStorage.setItem('tokenExpiresAt', tokenExpiresAt);
+    sessionStorage.setItem('sessionExpiresAt', sessionExpiresAt);
+    scheduleTokenRefresh();
+}
+
+function scheduleTokenRefresh() {
+    clearTimeout(tokenRefreshTimer);
+    if (authScheme !== 'Bearer' || !tokenExpiresAt) return;
+    const msLeft = tokenExpiresAt * 1000 - Date.now();
+    if (tokenExpiresAt >= sessionExpiresAt) {
+        // Last token of this sign-in: warn while there is time to save
+        tokenRefreshTimer = setTimeout(() => {
+            showToast('Your session ends in 5 minutes. Save your work, then sign in again.', 'error');
+        }, Math.max(msLeft - 5 * 60 * 1000, 0));
+        return;
+    }
+    tokenRefreshTimer = setTimeout(refreshToken, Math.max(msLeft - 60 * 1000, 0));
+}
+
+async function refreshToken() {
+    try {
+        applyToken(await apiCall('/api/token/refresh', 'POST'));
+    } catch (err) {
+        // A 401 has already asked for the password; anything else may pass
+        if (authScheme === 'Bearer') {
+            showToast('Could not renew your session. Save your work soon.', 'error');
+            tokenRefreshTimer = setTimeout(refreshToken, 30 * 1000);
+        }
+    }
+}
+
+function sessionExpired() {
+    clearTimeout(tokenRefreshTimer);
+    authToken = '';
+    authScheme = 'Basic';
+    resumeAfterSignIn = true;
+    sessionStorage.removeItem('auth');
+    sessionStorage.removeItem('authScheme');
+    document.getElementById('app').style.display = 'none';
+    document.getElementById('login-page').style.display = 'flex';
+    document.getElementById('login-username').value = currentUser.username;
+    document.getElementById('login-password').value = '';
+    const errorDiv = document.getElementById('login-error');
+    errorDiv.textContent = 'Your session expired. Sign in again to continue where you left off.';
+    errorDiv.style.display = 'block';
+}
+
 function logout() {
+    clearTimeout(tokenRefreshTimer);
     authToken = '';
+    authScheme = 'Basic';
+    tokenExpiresAt = 0;
+    sessionExpiresAt = 0;
+    resumeAfterSignIn = false;
     currentUser = { username: '', role: '' };
     sessionStorage.clear();
     document.getElementById('app').style.display = 'none';
@@ -137,7 +222,11 @@ function logout() {
     const savedUser = sessionStorage.getItem('user');
     if (savedAuth && savedUser) {
         authToken = savedAuth;
+        authScheme = sessionStorage.getItem('authScheme') || 'Basic';
+        tokenExpiresAt = Number(sessionStorage.getItem('tokenExpiresAt')) || 0;
+        sessionExpiresAt = Number(sessionStorage.getItem('sessionExpiresAt')) || 0;
         currentUser = JSON.parse(savedUser);
+        scheduleTokenRefresh();
         showApp();
     }
 })();
@@ -819,6 +908,9 @@ async function openExamResultsModal(examId) {
     overlay.style.display = 'flex';
 
     currentModalType = 'exam-results-bulk';
+    bulkSubmissionKey = window.crypto && crypto.randomUUID
+        ? crypto.randomUUID()
+        : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
 
     try {
         const students = await apiCall(`/api/teacher/exams/${examId}/students`);
@@ -855,7 +947,7 @@ async function openExamResultsModal(examId) {
                                 <td>${escapeHtml(s.studentRollNo)}</td>
                                 <td>${escapeHtml(s.studentName)}</td>
                                 <td>
-                                    <input type="number" class="exam-result-input" data-exam-id="${s.examId}" data-student-id="${s.studentId}" data-student-roll-no="${s.studentRollNo}"
+                                    <input type="number" class="exam-result-input" data-exam-id="${s.examId}" data-student-id="${s.studentId}" data-student-roll-no="${s.studentRollNo}" data-version="${s.version ?? ''}"
                                            value="${s.marksObtained !== null && s.marksObtained !== undefined ? s.marksObtained : ''}"
                                            min="0" max="${students[0].maxMarks}"
                                            style="width:80px;padding:8px;background:var(--bg-input);border:1px solid var(--border);border-radius:var(--radius-sm);color:var(--text-primary);font-family:var(--font);">
@@ -1434,7 +1526,8 @@ async function handleFormSubmit(event) {
                             examId: parseInt(input.dataset.examId),
                             studentId: parseInt(input.dataset.studentId),
                             studentRollNo: input.dataset.studentRollNo,
-                            marksObtained: marks
+                            marksObtained: marks,
+                            version: input.dataset.version !== '' ? parseInt(input.dataset.version) : null
                         });
                     }
                 });
@@ -1442,8 +1535,18 @@ async function handleFormSubmit(event) {
                     showToast('Please enter at least one result', 'error');
                     return;
                 }
-                await apiCall('/api/teacher/exams/results/bulk', 'POST', results);
-                showToast(`${results.length} result(s) saved successfully! ✅`, 'success');
+                // Same sheet and same marks => same key, so only a true resubmission is deduplicated
+                const payload = JSON.stringify(results);
+                let hash = 5381;
+                for (let i = 0; i < payload.length; i++) hash = ((hash * 33) ^ payload.charCodeAt(i)) >>> 0;
+                const outcomes = await apiCall('/api/teacher/exams/results/bulk', 'POST', results,
+                    { 'Idempotency-Key': `${bulkSubmissionKey}-${hash.toString(36)}` }) || [];
+                const rejected = outcomes.filter(o => o.status === 'REJECTED' || o.status === 'CONFLICT');
+                if (rejected.length) {
+                    showToast(`${results.length - rejected.length} saved, ${rejected.length} rejected: ${rejected[0].message}`, 'error');
+                } else {
+                    showToast(`${results.length} result(s) saved successfully! ✅`, 'success');
+                }
                 closeModal();
                 await loadTeacherExams();
                 break;
@@ -0,0 +1,85 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.analytics.ColumnarResultsSnapshot.LongIntHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongIntHashMapTest {
+
+    // Capacity before the first resize
+    private static final int MASK = 1023;
+
+    @Test
+    void removingFromTheMiddleOfAProbeChainKeepsLaterKeysReachable() {
+        List<Long> chain = keysWithSlot(17, 4);
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < chain.size(); i++) {
+            map.put(chain.get(i), i);
+        }
+
+        assertEquals(1, map.remove(chain.get(1)));
+
+        assertEquals(-1, map.get(chain.get(1)));
+        assertEquals(0, map.get(chain.get(0)));
+        assertEquals(2, map.get(chain.get(2)));
+        assertEquals(3, map.get(chain.get(3)));
+    }
+
+    @Test
+    void backwardShiftFollowsAChainThatWrapsAroundTheTable() {
+        List<Long> wrapping = keysWithSlot(MASK, 3);
+        long homedAtZero = keysWithSlot(0, 1).get(0);
+        LongIntHashMap map = new LongIntHashMap();
+        // Slots MASK, 0, 1 hold the wrapping chain; the key homed at 0 lands in 2
+        for (int i = 0; i < wrapping.size(); i++) {
+            map.put(wrapping.get(i), i);
+        }
+        map.put(homedAtZero, 9);
+
+        assertEquals(0, map.remove(wrapping.get(0)));
+
+        assertEquals(1, map.get(wrapping.get(1)));
+        assertEquals(2, map.get(wrapping.get(2)));
+        assertEquals(9, map.get(homedAtZero));
+        assertEquals(-1, map.remove(wrapping.get(0)));
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomPutsAndRemovesAcrossResizes() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int op = 0; op < 200_000; op++) {
+            // A small key space so removals often hit long probe chains
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key));
+            } else {
+                int value = random.nextInt(1_000_000);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals((int) expected.getOrDefault(key, -1), map.get(key));
+        }
+    }
+
+    private static List<Long> keysWithSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < count; key++) {
+            if (LongIntHashMap.slot(key, MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
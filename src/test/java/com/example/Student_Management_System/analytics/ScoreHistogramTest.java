@@ -0,0 +1,80 @@
+package com.example.Student_Management_System.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreHistogramTest {
+
+    @Test
+    void quantilesAreWithinOnePercentOfTheExactValues() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.add(i / 10.0);
+        }
+
+        assertEquals(0.0, histogram.quantile(0.0), 1.0);
+        assertEquals(25.0, histogram.quantile(0.25), 1.0);
+        assertEquals(50.0, histogram.quantile(0.5), 1.0);
+        assertEquals(90.0, histogram.quantile(0.9), 1.0);
+        assertEquals(100.0, histogram.quantile(1.0), 1.0);
+    }
+
+    @Test
+    void mergeCombinesCountsMeansAndQuantiles() {
+        ScoreHistogram low = new ScoreHistogram();
+        ScoreHistogram high = new ScoreHistogram();
+        for (int i = 0; i < 50; i++) {
+            low.add(20);
+            high.add(80);
+        }
+        ScoreHistogram merged = new ScoreHistogram();
+
+        low.mergeInto(merged);
+        high.mergeInto(merged);
+
+        assertEquals(100, merged.count());
+        assertEquals(50.0, merged.mean(), 1e-9);
+        assertEquals(20.0, merged.quantile(0.25), 1.0);
+        assertEquals(80.0, merged.quantile(0.75), 1.0);
+        // The sources are unchanged
+        assertEquals(50, low.count());
+    }
+
+    @Test
+    void removeUndoesAnAddAndIgnoresValuesNeverAdded() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(40);
+        histogram.add(60);
+
+        histogram.remove(60);
+        histogram.remove(90);
+
+        assertEquals(1, histogram.count());
+        assertEquals(40.0, histogram.mean(), 1e-9);
+    }
+
+    @Test
+    void fullMarksFallInTheLastBucket() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(100);
+        histogram.add(95);
+        histogram.add(0);
+
+        long[] deciles = histogram.coarseCounts(10);
+
+        assertEquals(1, deciles[0]);
+        assertEquals(2, deciles[9]);
+        assertEquals(3, Arrays.stream(deciles).sum());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        ScoreHistogram histogram = new ScoreHistogram();
+
+        assertEquals(0.0, histogram.quantile(0.5), 0.0);
+        assertEquals(0.0, histogram.mean(), 0.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Student_Management_System.analytics;
+
+import com.example.Student_Management_System.dto.StudentPerformanceDto;
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.event.StudentsChangedEvent;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import com.example.Student_Management_System.repo.StudentPerformanceSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+class YearLeaderboardTest {
+
+    private PerformanceStatRepository performanceStatRepository;
+    private YearLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        performanceStatRepository = mock(PerformanceStatRepository.class);
+        when(performanceStatRepository.findStudentSummaries(PerformanceScope.STUDENT)).thenReturn(List.of(
+                summary(1L, 2, 90), summary(2L, 2, 70), summary(3L, 2, 50), summary(4L, 3, 95)));
+        leaderboard = new YearLeaderboard(performanceStatRepository);
+        leaderboard.rebuild();
+    }
+
+    @Test
+    void studentsAreRankedWithinTheirOwnYear() {
+        assertEquals(List.of(1L, 2L, 3L), studentIds(leaderboard.top(2, 10)));
+        assertEquals(1, leaderboard.standingOf(4L).orElseThrow().getRank());
+        assertEquals(3, leaderboard.standingOf(3L).orElseThrow().getRank());
+    }
+
+    @Test
+    void rankFollowsAnUpdatedAverage() {
+        when(performanceStatRepository.findStudentSummariesByIds(eq(PerformanceScope.STUDENT), anyCollection()))
+                .thenReturn(List.of(summary(3L, 2, 80)));
+
+        leaderboard.onStudentsChanged(new StudentsChangedEvent(Set.of(3L)));
+
+        assertEquals(2, leaderboard.standingOf(3L).orElseThrow().getRank());
+        assertEquals(3, leaderboard.standingOf(2L).orElseThrow().getRank());
+        assertEquals(List.of(1L, 3L, 2L), studentIds(leaderboard.top(2, 10)));
+    }
+
+    @Test
+    void studentMovedToAnotherYearLeavesTheOldRanking() {
+        when(performanceStatRepository.findStudentSummariesByIds(eq(PerformanceScope.STUDENT), anyCollection()))
+                .thenReturn(List.of(summary(1L, 3, 90)));
+
+        leaderboard.onStudentsChanged(new StudentsChangedEvent(Set.of(1L)));
+
+        assertEquals(List.of(2L, 3L), studentIds(leaderboard.top(2, 10)));
+        assertEquals(2, leaderboard.standingOf(1L).orElseThrow().getRank());
+    }
+
+    @Test
+    void studentWithoutAggregatesIsDropped() {
+        when(performanceStatRepository.findStudentSummariesByIds(eq(PerformanceScope.STUDENT), anyCollection()))
+                .thenReturn(List.of());
+
+        leaderboard.onStudentsChanged(new StudentsChangedEvent(Set.of(2L)));
+
+        assertFalse(leaderboard.standingOf(2L).isPresent());
+        assertEquals(2, leaderboard.standingOf(3L).orElseThrow().getRank());
+    }
+
+    private static List<Long> studentIds(List<StudentPerformanceDto> standings) {
+        return standings.stream().map(StudentPerformanceDto::getStudentId).toList();
+    }
+
+    // One result at the given percentage
+    private static StudentPerformanceSummary summary(Long studentId, int year, double percentage) {
+        StudentPerformanceSummary summary = mock(StudentPerformanceSummary.class);
+        when(summary.getGroupId()).thenReturn(studentId);
+        when(summary.getGroupName()).thenReturn("Student " + studentId);
+        when(summary.getRollNo()).thenReturn("R" + studentId);
+        when(summary.getYear()).thenReturn(year);
+        when(summary.getPercentageSum()).thenReturn(percentage);
+        when(summary.getResultCount()).thenReturn(1L);
+        when(summary.getPassCount()).thenReturn(1L);
+        when(summary.getDistinctionCount()).thenReturn(0L);
+        return summary;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Student_Management_System.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void cachedValueIsServedUntilInvalidated() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("a", loads::incrementAndGet));
+        assertEquals(1, cache.get("a", loads::incrementAndGet));
+        cache.invalidate("a");
+        assertEquals(2, cache.get("a", loads::incrementAndGet));
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsReturnedButNotStored() throws Exception {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        CompletableFuture<String> slowLoad = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            loading.countDown();
+            await(invalidated);
+            return "stale";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidateAll();
+        invalidated.countDown();
+
+        assertEquals("stale", slowLoad.get(5, TimeUnit.SECONDS));
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get("a", () -> "fresh"));
+    }
+
+    @Test
+    void loadStartedAfterAnInvalidationIsStored() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.invalidateIf(key -> true);
+
+        cache.get("a", () -> "loaded");
+
+        assertEquals("loaded", cache.get("a", () -> "reloaded"));
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 0);
+
+        cache.get("a", () -> "first");
+
+        assertEquals("second", cache.get("a", () -> "second"));
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedPastTheBound() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 60_000);
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "unused"); // "b" is now the eldest
+
+        cache.get("c", () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("b", () -> "reloaded"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.Student_Management_System.config;
+
+import com.example.Student_Management_System.config.AuthTokenService.TokenClaims;
+import com.example.Student_Management_System.event.CredentialsChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final AuthTokenService tokens = new AuthTokenService(new ObjectMapper(), SECRET, 15, 12);
+
+    @Test
+    void freshTokenVerifies() {
+        String token = tokens.issue(tokens.claims("alice@example.com", "TEACHER", 7L, null, "Alice"));
+
+        TokenClaims claims = tokens.verify(token).orElseThrow();
+        assertEquals("alice@example.com", claims.username());
+        assertEquals(7L, claims.teacherId());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        AuthTokenService noTtl = new AuthTokenService(new ObjectMapper(), SECRET, 0, 12);
+
+        String token = noTtl.issue(noTtl.claims("alice@example.com", "TEACHER", 7L, null, "Alice"));
+
+        assertFalse(noTtl.verify(token).isPresent());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = tokens.issue(tokens.claims("alice@example.com", "TEACHER", 7L, null, "Alice"));
+        AuthTokenService otherSecret = new AuthTokenService(new ObjectMapper(), SECRET.toUpperCase(), 15, 12);
+
+        assertFalse(otherSecret.verify(token).isPresent());
+    }
+
+    @Test
+    void credentialsChangeRevokesEarlierTokens() {
+        String before = tokens.issue(issuedSecondsAgo("alice@example.com", 1));
+        String otherUser = tokens.issue(issuedSecondsAgo("bob@example.com", 1));
+
+        // Usernames are compared case-insensitively
+        tokens.onCredentialsChanged(new CredentialsChangedEvent(Set.of(" Alice@Example.com")));
+
+        assertFalse(tokens.verify(before).isPresent());
+        assertTrue(tokens.verify(otherUser).isPresent());
+        String after = tokens.issue(tokens.claims("alice@example.com", "TEACHER", 7L, null, "Alice"));
+        assertTrue(tokens.verify(after).isPresent());
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenService(new ObjectMapper(), "too-short", 15, 12));
+    }
+
+    @Test
+    void renewalKeepsTheSignInTimeAndExtendsExpiry() {
+        TokenClaims current = signedInSecondsAgo(600, 1);
+
+        TokenClaims renewed = tokens.renew(current).orElseThrow();
+
+        assertEquals(current.authenticatedAt(), renewed.authenticatedAt());
+        assertTrue(renewed.expiresAt() > current.expiresAt());
+        assertTrue(tokens.verify(tokens.issue(renewed)).isPresent());
+    }
+
+    @Test
+    void renewalStopsAtTheMaximumSessionLength() {
+        TokenClaims nearCap = signedInSecondsAgo(12 * 3600 - 60, 1);
+        TokenClaims atCap = signedInSecondsAgo(12 * 3600, 1);
+
+        // The last token of a session expires with the session, not a full TTL later
+        TokenClaims last = tokens.renew(nearCap).orElseThrow();
+        assertEquals(tokens.sessionEnd(nearCap.authenticatedAt()), last.expiresAt());
+        assertFalse(tokens.renew(atCap).isPresent());
+    }
+
+    private static TokenClaims issuedSecondsAgo(String username, long seconds) {
+        Instant issued = Instant.now().minusSeconds(seconds);
+        return new TokenClaims(username, "TEACHER", 7L, null, "Alice", issued.getEpochSecond(),
+                issued.toEpochMilli(), issued.plusSeconds(900).getEpochSecond());
+    }
+
+    private static TokenClaims signedInSecondsAgo(long signedIn, long issued) {
+        Instant now = Instant.now();
+        return new TokenClaims("alice@example.com", "TEACHER", 7L, null, "Alice",
+                now.minusSeconds(signedIn).getEpochSecond(), now.minusSeconds(issued).toEpochMilli(),
+                now.minusSeconds(issued).plusSeconds(900).getEpochSecond());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.entity.Student;
+import com.example.Student_Management_System.exception.UnprocessableEntityException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Idempotency keys belong to the submitting user and are bound to the body
+// they were first used with
+@SpringBootTest
+class BulkIdempotencyTest {
+
+    @Autowired
+    private ExamService examService;
+    @Autowired
+    private ExamFixtures fixtures;
+
+    private Exam exam;
+    private Student student;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        ExamFixtures.Fixture fixture = fixtures.create();
+        exam = fixture.exam();
+        student = fixture.student();
+        key = "key-" + fixture.suffix();
+    }
+
+    @Test
+    void retryWithTheSameBodyReturnsTheStoredOutcome() {
+        examService.addOrUpdateBulkResults(List.of(result(60)), "teacher-a", key, null);
+        examService.addOrUpdateResult(result(90)); // must not be overwritten by the retry
+
+        List<BulkResultOutcomeDto> retried = examService.addOrUpdateBulkResults(List.of(result(60)), "teacher-a",
+                key, null);
+
+        assertEquals(1, retried.size());
+        assertEquals(90, storedMarks());
+    }
+
+    @Test
+    void reusedKeyWithADifferentBodyIsRejected() {
+        examService.addOrUpdateBulkResults(List.of(result(60)), "teacher-a", key, null);
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> examService.addOrUpdateBulkResults(List.of(result(70)), "teacher-a", key, null));
+        assertEquals(60, storedMarks());
+    }
+
+    @Test
+    void keysAreScopedToTheSubmitter() {
+        examService.addOrUpdateBulkResults(List.of(result(60)), "teacher-a", key, null);
+
+        // Another user's identical key is a fresh submission, not a replay
+        examService.addOrUpdateBulkResults(List.of(result(70)), "teacher-b", key, null);
+
+        assertEquals(70, storedMarks());
+    }
+
+    private int storedMarks() {
+        return examService.getStudentExamResults(student.getRollNo()).stream()
+                .filter(r -> r.getExamId().equals(exam.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getMarksObtained();
+    }
+
+    private ExamResultDto result(int marks) {
+        ExamResultDto dto = new ExamResultDto();
+        dto.setExamId(exam.getId());
+        dto.setStudentId(student.getId());
+        dto.setMarksObtained(marks);
+        return dto;
+    }
+}
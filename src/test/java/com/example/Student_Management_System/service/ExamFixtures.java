@@ -0,0 +1,60 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.entity.Student;
+import com.example.Student_Management_System.entity.Subject;
+import com.example.Student_Management_System.repo.ExamRepository;
+import com.example.Student_Management_System.repo.StudentRepository;
+import com.example.Student_Management_System.repo.SubjectRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// A fresh year-2 subject, exam and student per test, with unique names so
+// tests sharing the context database do not collide
+@Component
+class ExamFixtures {
+
+    record Fixture(String suffix, Exam exam, Student student) {
+    }
+
+    private final SubjectRepository subjectRepository;
+    private final ExamRepository examRepository;
+    private final StudentRepository studentRepository;
+
+    ExamFixtures(SubjectRepository subjectRepository, ExamRepository examRepository,
+            StudentRepository studentRepository) {
+        this.subjectRepository = subjectRepository;
+        this.examRepository = examRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    Fixture create() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Subject subject = new Subject();
+        subject.setSubjectName("Fixture " + suffix);
+        subject.setSubjectCode("FX-" + suffix);
+        subject.setYear(2);
+        subject = subjectRepository.save(subject);
+
+        Exam exam = new Exam();
+        exam.setExamName("Exam " + suffix);
+        exam.setExamType("INTERNAL");
+        exam.setSubject(subject);
+        exam.setTargetYear(2);
+        exam.setMaxMarks(100);
+        exam = examRepository.save(exam);
+
+        Student student = new Student();
+        student.setRollNo("FX" + suffix);
+        student.setName("Student " + suffix);
+        student.setEmail("student-" + suffix + "@example.com");
+        student.setDepartment("CSE");
+        student.setYear(2);
+        student.setPassword("unused");
+        student = studentRepository.save(student);
+
+        return new Fixture(suffix, exam, student);
+    }
+}
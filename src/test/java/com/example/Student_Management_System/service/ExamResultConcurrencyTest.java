@@ -0,0 +1,116 @@
+package com.example.Student_Management_System.service;
+
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.entity.PerformanceScope;
+import com.example.Student_Management_System.entity.PerformanceStat;
+import com.example.Student_Management_System.entity.Student;
+import com.example.Student_Management_System.repo.PerformanceStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// First marks for the same (exam, student) racing through the single and bulk
+// paths must be counted once in the performance aggregates
+@SpringBootTest
+class ExamResultConcurrencyTest {
+
+    private static final int WRITERS = 4;
+
+    @Autowired
+    private ExamService examService;
+    @Autowired
+    private ExamFixtures fixtures;
+    @Autowired
+    private PerformanceStatRepository performanceStatRepository;
+
+    private Exam exam;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        ExamFixtures.Fixture fixture = fixtures.create();
+        exam = fixture.exam();
+        student = fixture.student();
+    }
+
+    @Test
+    void concurrentFirstMarksAreCountedOnce() throws Exception {
+        runConcurrently(marks -> () -> {
+            examService.addOrUpdateResult(result(marks));
+            return null;
+        });
+
+        assertCountedOnce();
+    }
+
+    @Test
+    void concurrentBulkFirstMarksAreCountedOnce() throws Exception {
+        runConcurrently(marks -> () -> examService.addOrUpdateBulkResults(List.of(result(marks))));
+
+        assertCountedOnce();
+    }
+
+    private void assertCountedOnce() {
+        Integer stored = examService.getStudentExamResults(student.getRollNo()).stream()
+                .filter(r -> r.getExamId().equals(exam.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getMarksObtained();
+
+        PerformanceStat studentStat = performanceStatRepository
+                .findByScopeAndScopeId(PerformanceScope.STUDENT, student.getId()).orElseThrow();
+        assertEquals(1L, studentStat.getResultCount());
+        assertEquals(stored.doubleValue(), studentStat.getPercentageSum(), 1e-9);
+
+        PerformanceStat subjectStat = performanceStatRepository
+                .findByScopeAndScopeId(PerformanceScope.SUBJECT, exam.getSubject().getId()).orElseThrow();
+        assertEquals(1L, subjectStat.getResultCount());
+    }
+
+    private ExamResultDto result(int marks) {
+        ExamResultDto dto = new ExamResultDto();
+        dto.setExamId(exam.getId());
+        dto.setStudentId(student.getId());
+        dto.setMarksObtained(marks);
+        return dto;
+    }
+
+    private interface WriterFactory {
+        Callable<?> writer(int marks);
+    }
+
+    // Releases every writer at once and rethrows the first failure
+    private void runConcurrently(WriterFactory factory) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                Callable<?> writer = factory.writer(50 + i * 10);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return writer.call();
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
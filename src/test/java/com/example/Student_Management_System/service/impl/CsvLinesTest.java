@@ -0,0 +1,53 @@
+package com.example.Student_Management_System.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLinesTest {
+
+    @Test
+    void valuesAreTrimmedAndOnePairOfQuotesStripped() {
+        String[] columns = CsvLines.split(" CS01 ,\" Alice \",\"\"\"x\"\"\",\"");
+
+        assertEquals("CS01", columns[0]);
+        assertEquals("Alice", columns[1]);
+        assertEquals("\"\"x\"\"", columns[2]);
+        // A lone quote is not a quoted value
+        assertEquals("\"", columns[3]);
+    }
+
+    @Test
+    void trailingEmptyColumnsAreKept() {
+        assertEquals(3, CsvLines.split("a,,").length);
+    }
+
+    @Test
+    void shortRowIsRejectedWithTheExpectedLayout() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CsvLines.split("CS01", 1, "rollNo,marks"));
+
+        assertEquals("expected rollNo,marks", e.getMessage());
+    }
+
+    @Test
+    void headerNamesAreNormalizedAndTheFirstOccurrenceWins() {
+        Map<String, Integer> header = CsvLines.header("\"Roll_No\", Marks_Obtained ,EMAIL,rollNo");
+
+        assertEquals(0, header.get("rollno"));
+        assertEquals(1, header.get("marksobtained"));
+        assertEquals(2, header.get("email"));
+    }
+
+    @Test
+    void positionPrefersTheFirstNamePresent() {
+        Map<String, Integer> header = CsvLines.header("marks,marksobtained,rollno");
+
+        assertEquals(1, CsvLines.position(header, "marksobtained", "marks"));
+        assertEquals(0, CsvLines.position(header, "score", "marks"));
+        assertEquals(-1, CsvLines.position(header, "score"));
+    }
+}
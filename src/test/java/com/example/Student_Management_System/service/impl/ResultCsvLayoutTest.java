@@ -0,0 +1,42 @@
+package com.example.Student_Management_System.service.impl;
+
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.exception.BadRequestException;
+import com.example.Student_Management_System.service.impl.ResultUploadServiceImpl.CsvLayout;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// First-line header detection for result uploads
+class ResultCsvLayoutTest {
+
+    @Test
+    void recognizedHeaderMayReorderColumns() {
+        CsvLayout layout = CsvLayout.fromHeader("Marks_Obtained,Student_Roll_No");
+
+        ExamResultDto row = new ExamResultDto();
+        layout.fill(row, "72,CS01");
+
+        assertEquals("CS01", row.getStudentRollNo());
+        assertEquals(72, row.getMarksObtained());
+    }
+
+    @Test
+    void dataOnTheFirstLineUsesTheDefaultLayout() {
+        assertNull(CsvLayout.fromHeader("CS01,72"));
+        assertNull(CsvLayout.fromHeader("\"CS01\", \"0\""));
+    }
+
+    @Test
+    void unrecognizedHeaderIsReportedRatherThanReadAsData() {
+        assertThrows(BadRequestException.class, () -> CsvLayout.fromHeader("roll,score"));
+        assertThrows(BadRequestException.class, () -> CsvLayout.fromHeader("CS01"));
+    }
+
+    @Test
+    void headerNamingOnlyOneColumnIsRejected() {
+        assertThrows(BadRequestException.class, () -> CsvLayout.fromHeader("rollNo,score"));
+    }
+}
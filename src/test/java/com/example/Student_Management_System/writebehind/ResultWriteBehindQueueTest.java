@@ -0,0 +1,163 @@
+package com.example.Student_Management_System.writebehind;
+
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto;
+import com.example.Student_Management_System.dto.BulkResultOutcomeDto.Status;
+import com.example.Student_Management_System.dto.ExamResultDto;
+import com.example.Student_Management_System.entity.Exam;
+import com.example.Student_Management_System.repo.ExamRepository;
+import com.example.Student_Management_System.repo.StudentRepository;
+import com.example.Student_Management_System.service.ExamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ResultWriteBehindQueueTest {
+
+    @TempDir
+    Path journalDir;
+
+    private ExamService examService;
+    private ExamRepository examRepository;
+    private StudentRepository studentRepository;
+    private Path previousRun;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        examService = mock(ExamService.class);
+        examRepository = mock(ExamRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        when(examService.addOrUpdateBulkResults(anyList())).thenReturn(List.of());
+
+        Exam exam = new Exam();
+        exam.setId(1L);
+        exam.setMaxMarks(100);
+        when(examRepository.findById(1L)).thenReturn(Optional.of(exam));
+        when(studentRepository.existsById(3L)).thenReturn(true);
+
+        // Acknowledged by a previous run that stopped before draining it
+        previousRun = journalDir.resolve("results-00000000000000000001.journal");
+        Files.writeString(previousRun, "{\"examId\":1,\"studentId\":2,\"marksObtained\":40}\n",
+                StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void replayAppliesThePreviousRunAndDeletesItsSegment() {
+        ResultWriteBehindQueue queue = newQueue();
+
+        queue.replay();
+
+        List<ExamResultDto> rows = drainedBatches().get(0);
+        assertEquals(1, rows.size());
+        assertEquals(2L, rows.get(0).getStudentId());
+        assertEquals(40, rows.get(0).getMarksObtained());
+        assertFalse(Files.exists(previousRun));
+    }
+
+    @Test
+    void drainOnlyDeletesTheSegmentsItCarried() {
+        ResultWriteBehindQueue queue = newQueue();
+
+        // A drain that runs before the old segment is loaded must leave it alone
+        queue.submit(result(3L, 70));
+        queue.drain();
+        assertTrue(Files.exists(previousRun));
+
+        queue.replay();
+
+        List<List<ExamResultDto>> batches = drainedBatches();
+        assertEquals(2, batches.size());
+        assertEquals(3L, batches.get(0).get(0).getStudentId());
+        assertEquals(2L, batches.get(1).get(0).getStudentId());
+        assertFalse(Files.exists(previousRun));
+    }
+
+    @Test
+    void failedDrainKeepsSegmentsForTheRetry() throws Exception {
+        ResultWriteBehindQueue queue = newQueue();
+        queue.replay();
+        reset(examService);
+        when(examService.addOrUpdateBulkResults(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        queue.submit(result(3L, 70));
+        queue.drain();
+
+        try (Stream<Path> segments = Files.list(journalDir)) {
+            assertEquals(2, segments.count()); // the failed batch's segment and the new active one
+        }
+    }
+
+    @Test
+    void poisonRowIsDeadLetteredWithoutHoldingBackTheRest() throws Exception {
+        ResultWriteBehindQueue queue = newQueue();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("constraint");
+        // The whole batch fails, then the new row fails alone and the previous
+        // run's row applies alone
+        when(examService.addOrUpdateBulkResults(anyList()))
+                .thenThrow(violation)
+                .thenThrow(violation)
+                .thenReturn(List.of());
+
+        queue.submit(result(3L, 70));
+        queue.replay();
+
+        assertFalse(Files.exists(previousRun));
+        String deadLetters = Files.readString(journalDir.resolve("dead-letter.jsonl"), StandardCharsets.UTF_8);
+        assertTrue(deadLetters.contains("\"studentId\":3"));
+        assertFalse(deadLetters.contains("\"studentId\":2"));
+    }
+
+    @Test
+    void conflictedRowIsRetriedOnTheNextDrain() {
+        ResultWriteBehindQueue queue = newQueue();
+        reset(examService);
+        when(examService.addOrUpdateBulkResults(anyList()))
+                .thenReturn(List.of(new BulkResultOutcomeDto(0, null, Status.CONFLICT, "changed")))
+                .thenReturn(List.of());
+
+        queue.replay();
+        assertTrue(Files.exists(previousRun));
+
+        queue.drain();
+        List<List<ExamResultDto>> batches = drainedBatches();
+        assertEquals(2, batches.size());
+        assertEquals(2L, batches.get(1).get(0).getStudentId());
+        assertFalse(Files.exists(previousRun));
+    }
+
+    private ResultWriteBehindQueue newQueue() {
+        return new ResultWriteBehindQueue(examService, examRepository, studentRepository, new ObjectMapper(), true,
+                journalDir.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ExamResultDto>> drainedBatches() {
+        ArgumentCaptor<List<ExamResultDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(examService, atLeastOnce()).addOrUpdateBulkResults(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static ExamResultDto result(Long studentId, int marks) {
+        ExamResultDto dto = new ExamResultDto();
+        dto.setExamId(1L);
+        dto.setStudentId(studentId);
+        dto.setMarksObtained(marks);
+        return dto;
+    }
+}